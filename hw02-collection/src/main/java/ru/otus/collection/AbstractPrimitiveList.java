@@ -0,0 +1,72 @@
+package ru.otus.collection;
+
+import java.util.Objects;
+
+/**
+ * Common size and capacity bookkeeping for lists backed by primitive arrays.
+ */
+abstract class AbstractPrimitiveList {
+
+    protected static final int DEFAULT_SIZE = 16;
+    protected static final int NOT_FOUND_IDX = -1;
+
+    protected final GrowthPolicy growthPolicy;
+    protected int size;
+
+    protected AbstractPrimitiveList(final GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+    }
+
+    /**
+     * @return length of backing array
+     */
+    public abstract int capacity();
+
+    /**
+     * Replace backing array with a copy of newCapacity length.
+     */
+    protected abstract void resize(int newCapacity);
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity > capacity()) {
+            growArray(minCapacity);
+        }
+    }
+
+    public void trimToSize() {
+        if (size < capacity()) {
+            resize(size);
+        }
+    }
+
+    protected void growArray(final int atLeastNewSize) {
+        if (atLeastNewSize < 0) {
+            // int overflow of size + additional elements count
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        final int currentCapacity = capacity();
+        if (currentCapacity == 0) {
+            resize(Math.max(atLeastNewSize, DEFAULT_SIZE));
+        } else {
+            resize(Math.max(growthPolicy.newCapacity(currentCapacity, atLeastNewSize), atLeastNewSize));
+        }
+    }
+
+    protected void checkPositionIndex(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
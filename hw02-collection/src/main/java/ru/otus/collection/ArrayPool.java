@@ -0,0 +1,126 @@
+package ru.otus.collection;
+
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pool of Object[] backing arrays for short-lived lists, see {@link CustomArrayListImplementation#release()}.
+ * <p>
+ * Arrays are kept in power-of-two capacity classes. Every thread has a small cache of its own, which needs
+ * no synchronization, and overflows into a bounded shared tier, so arrays released by one thread can be reused
+ * by another. Arrays beyond the largest class are neither pooled nor kept.
+ * <p>
+ * Released arrays are scrubbed, so a pooled array never keeps elements of the previous list reachable.
+ */
+public final class ArrayPool {
+
+    private static final int MIN_CLASS_SHIFT = 4;
+    private static final int DEFAULT_MAX_CLASS_SHIFT = 20;
+    private static final int DEFAULT_LOCAL_LIMIT = 4;
+    private static final int DEFAULT_SHARED_LIMIT = 64;
+
+    private static final ArrayPool DEFAULT_POOL =
+            new ArrayPool(1 << DEFAULT_MAX_CLASS_SHIFT, DEFAULT_LOCAL_LIMIT, DEFAULT_SHARED_LIMIT);
+
+    private final int maxClassShift;
+    private final ArrayBlockingQueue<Object[]>[] shared;
+    private final ThreadLocal<LocalCache> local;
+
+    /**
+     * @param maxPooledLength largest pooled array length, rounded up to a power of two
+     * @param localLimit      arrays of every class cached by each thread
+     * @param sharedLimit     arrays of every class in the shared tier
+     */
+    public ArrayPool(final int maxPooledLength, final int localLimit, final int sharedLimit) {
+        if (maxPooledLength < 1 << MIN_CLASS_SHIFT || maxPooledLength > 1 << 30 || localLimit < 0 || sharedLimit < 1) {
+            throw new IllegalArgumentException("Illegal pool limits: " + maxPooledLength + ", " + localLimit
+                    + ", " + sharedLimit);
+        }
+        this.maxClassShift = shiftOf(maxPooledLength);
+        final int classCount = maxClassShift - MIN_CLASS_SHIFT + 1;
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        final ArrayBlockingQueue<Object[]>[] queues = new ArrayBlockingQueue[classCount];
+        for (int i = 0; i < classCount; i++) {
+            queues[i] = new ArrayBlockingQueue<>(sharedLimit);
+        }
+        this.shared = queues;
+        this.local = ThreadLocal.withInitial(() -> new LocalCache(classCount, localLimit));
+    }
+
+    public static ArrayPool defaultPool() {
+        return DEFAULT_POOL;
+    }
+
+    /**
+     * @return empty array of power-of-two length, at least minLength
+     */
+    public Object[] acquire(final int minLength) {
+        final int shift = shiftOf(Math.max(minLength, 1 << MIN_CLASS_SHIFT));
+        if (shift > maxClassShift) {
+            return new Object[minLength];
+        }
+        final int sizeClass = shift - MIN_CLASS_SHIFT;
+        final Object[] cached = local.get().pop(sizeClass);
+        if (cached != null) {
+            return cached;
+        }
+        final Object[] pooled = shared[sizeClass].poll();
+        return pooled != null ? pooled : new Object[1 << shift];
+    }
+
+    /**
+     * Scrub and return array to the pool. Arrays of lengths other than pool classes are just dropped.
+     *
+     * @param usedLength only [0, usedLength) range may hold references, the rest must be null already
+     */
+    public void release(final Object[] array, final int usedLength) {
+        final int length = array.length;
+        if (Integer.bitCount(length) != 1 || length < 1 << MIN_CLASS_SHIFT || length > 1 << maxClassShift) {
+            return;
+        }
+        Arrays.fill(array, 0, usedLength, null);
+        final int sizeClass = Integer.numberOfTrailingZeros(length) - MIN_CLASS_SHIFT;
+        if (!local.get().push(sizeClass, array)) {
+            // dropped for GC when the shared tier is full too
+            shared[sizeClass].offer(array);
+        }
+    }
+
+    private static int shiftOf(final int length) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(length - 1);
+    }
+
+    private static final class LocalCache {
+
+        private final Object[][][] stacks;
+        private final int[] counts;
+
+        LocalCache(final int classCount, final int limit) {
+            this.stacks = new Object[classCount][limit][];
+            this.counts = new int[classCount];
+        }
+
+        Object[] pop(final int sizeClass) {
+            final int count = counts[sizeClass];
+            if (count == 0) {
+                return null;
+            }
+            final Object[][] stack = stacks[sizeClass];
+            final Object[] array = stack[count - 1];
+            stack[count - 1] = null;
+            counts[sizeClass] = count - 1;
+            return array;
+        }
+
+        boolean push(final int sizeClass, final Object[] array) {
+            final int count = counts[sizeClass];
+            final Object[][] stack = stacks[sizeClass];
+            if (count == stack.length) {
+                return false;
+            }
+            stack[count] = array;
+            counts[sizeClass] = count + 1;
+            return true;
+        }
+    }
+}
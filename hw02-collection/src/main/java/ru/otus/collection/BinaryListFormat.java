@@ -0,0 +1,244 @@
+package ru.otus.collection;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary format of list checkpoints.
+ * <p>
+ * Header of 16 bytes: magic, version, element type, flags, record width and list size.
+ * Then size records of width bytes follow, little-endian. Uncompressed records go as they are,
+ * compressed ones go in frames of raw length, compressed length and deflated bytes.
+ * Every frame holds whole records, so records never cross buffer boundaries on reading.
+ */
+final class BinaryListFormat {
+
+    static final byte TYPE_RECORD = 0;
+    static final byte TYPE_INT = 1;
+    static final byte TYPE_LONG = 2;
+    static final byte TYPE_DOUBLE = 3;
+
+    private static final int MAGIC = 0x4f544c53;
+    private static final byte VERSION = 1;
+    private static final byte FLAG_DEFLATE = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final int CHUNK_SIZE = 1 << 20;
+
+    private BinaryListFormat() {
+    }
+
+    private static ByteBuffer allocate(final int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Chunk can hold whole records only.
+     */
+    private static int chunkCapacity(final int width) {
+        return Math.max(1, CHUNK_SIZE / width) * width;
+    }
+
+    private static void writeFully(final WritableByteChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(final ReadableByteChannel channel, final ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Unexpected end of list data");
+            }
+        }
+    }
+
+    /**
+     * Records are put into {@link #buffer()}, which is sent to the channel by {@link #flush()} when it's full.
+     */
+    static final class Writer {
+
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer;
+        private final Deflater deflater;
+        private ByteBuffer compressed;
+
+        Writer(final WritableByteChannel channel, final byte type, final int width, final int size,
+               final boolean compress) throws IOException {
+            this.channel = channel;
+            this.buffer = allocate(chunkCapacity(width));
+            this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+            final ByteBuffer header = allocate(HEADER_SIZE);
+            header.putInt(MAGIC).put(VERSION).put(type).put(compress ? FLAG_DEFLATE : 0).put((byte) 0)
+                    .putInt(width).putInt(size).flip();
+            writeFully(channel, header);
+        }
+
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            if (buffer.hasRemaining()) {
+                if (deflater == null) {
+                    writeFully(channel, buffer);
+                } else {
+                    writeFrame();
+                }
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Flush the rest of records and release compressor, the channel stays open.
+         */
+        void finish() throws IOException {
+            flush();
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+
+        private void writeFrame() throws IOException {
+            final int rawLength = buffer.remaining();
+            if (compressed == null) {
+                compressed = allocate(FRAME_HEADER_SIZE + buffer.capacity() + buffer.capacity() / 8 + 64);
+            }
+            compressed.clear().position(FRAME_HEADER_SIZE);
+            deflater.reset();
+            deflater.setInput(buffer);
+            deflater.finish();
+            while (!deflater.finished()) {
+                if (!compressed.hasRemaining()) {
+                    // incompressible data may be a bit larger than the raw one
+                    final ByteBuffer larger = allocate(compressed.capacity() * 2);
+                    compressed.flip();
+                    compressed = larger.put(compressed);
+                }
+                deflater.deflate(compressed);
+            }
+            compressed.putInt(0, rawLength).putInt(4, compressed.position() - FRAME_HEADER_SIZE).flip();
+            writeFully(channel, compressed);
+        }
+    }
+
+    /**
+     * Reads header first, then chunks of whole records by {@link #next()}.
+     */
+    static final class Reader {
+
+        private final ReadableByteChannel channel;
+        private final int width;
+        private final int size;
+        private final ByteBuffer buffer;
+        private final Inflater inflater;
+        private ByteBuffer compressed;
+        private long remainingBytes;
+
+        Reader(final ReadableByteChannel channel, final byte type, final int expectedWidth) throws IOException {
+            this.channel = channel;
+            final ByteBuffer header = allocate(HEADER_SIZE);
+            readFully(channel, header);
+            header.flip();
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a list data");
+            }
+            final byte version = header.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported list data version " + version);
+            }
+            final byte storedType = header.get();
+            if (storedType != type) {
+                throw new IOException("Element type " + storedType + " doesn't match expected " + type);
+            }
+            final byte flags = header.get();
+            header.get();
+            this.width = header.getInt();
+            if (width != expectedWidth) {
+                throw new IOException("Record width " + width + " doesn't match codec width " + expectedWidth);
+            }
+            this.size = header.getInt();
+            if (size < 0) {
+                throw new IOException("Corrupted list size " + size);
+            }
+            this.remainingBytes = (long) size * width;
+            this.buffer = allocate(chunkCapacity(width));
+            this.inflater = (flags & FLAG_DEFLATE) != 0 ? new Inflater() : null;
+            buffer.limit(0);
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return buffer with next records, refilled from the channel when previous records are consumed
+         */
+        ByteBuffer next() throws IOException {
+            if (buffer.hasRemaining()) {
+                return buffer;
+            }
+            if (remainingBytes == 0) {
+                throw new EOFException("No more records");
+            }
+            buffer.clear();
+            if (inflater == null) {
+                buffer.limit((int) Math.min(buffer.capacity(), remainingBytes));
+                readFully(channel, buffer);
+            } else {
+                readFrame();
+            }
+            buffer.flip();
+            if (buffer.remaining() % width != 0 || buffer.remaining() > remainingBytes) {
+                throw new IOException("Corrupted list data frame");
+            }
+            remainingBytes -= buffer.remaining();
+            return buffer;
+        }
+
+        void finish() {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+
+        private void readFrame() throws IOException {
+            final ByteBuffer frameHeader = allocate(FRAME_HEADER_SIZE);
+            readFully(channel, frameHeader);
+            final int rawLength = frameHeader.getInt(0);
+            final int compressedLength = frameHeader.getInt(4);
+            if (rawLength <= 0 || rawLength > buffer.capacity() || compressedLength < 0) {
+                throw new IOException("Corrupted list data frame");
+            }
+            if (compressed == null || compressed.capacity() < compressedLength) {
+                compressed = allocate(Math.max(compressedLength, buffer.capacity()));
+            }
+            compressed.clear().limit(compressedLength);
+            readFully(channel, compressed);
+            compressed.flip();
+            buffer.limit(rawLength);
+            inflater.reset();
+            inflater.setInput(compressed);
+            try {
+                while (buffer.hasRemaining() && !inflater.finished()) {
+                    if (inflater.inflate(buffer) == 0 && inflater.needsInput()) {
+                        throw new IOException("Corrupted list data frame");
+                    }
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupted list data frame", e);
+            }
+            if (buffer.hasRemaining()) {
+                throw new IOException("Corrupted list data frame");
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ru.otus.collection;
+
+/**
+ * Grows geometrically while array is small and by at most maxChunk slots once it becomes big,
+ * so huge arrays don't waste up to half of their capacity.
+ */
+public class CappedChunkGrowthPolicy implements GrowthPolicy {
+
+    private final double factor;
+    private final int maxChunk;
+
+    public CappedChunkGrowthPolicy(final double factor, final int maxChunk) {
+        if (!(factor > 1.0)) {
+            throw new IllegalArgumentException("Growth factor must be greater than 1, but was " + factor);
+        }
+        if (maxChunk <= 0) {
+            throw new IllegalArgumentException("Max chunk must be positive, but was " + maxChunk);
+        }
+        this.factor = factor;
+        this.maxChunk = maxChunk;
+    }
+
+    @Override
+    public int newCapacity(final int currentCapacity, final int minCapacity) {
+        final long increment = Math.min((long) (currentCapacity * (factor - 1.0)), maxChunk);
+        return GrowthPolicy.clamp(currentCapacity + increment, minCapacity);
+    }
+
+    @Override
+    public String toString() {
+        return "CappedChunkGrowthPolicy{factor=" + factor + ", maxChunk=" + maxChunk + '}';
+    }
+}
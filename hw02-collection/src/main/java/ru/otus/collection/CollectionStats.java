@@ -0,0 +1,277 @@
+package ru.otus.collection;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters of {@link CustomArrayListImplementation} work: array growths, elements moved by inserts
+ * and removes, elements scanned by indexOf and the largest backing array.
+ * <p>
+ * Counters are static and shared by every list in the JVM, there are no per-list numbers. A snapshot taken
+ * while other threads use lists includes their work too, and {@link #reset()} clears it for everybody.
+ * <p>
+ * Instrumentation is turned on by {@code -Dru.otus.collection.stats=true}. Otherwise the flag is a constant false
+ * and JIT removes all instrumentation calls, so disabled counters cost nothing.
+ * When enabled, the same data is emitted as JFR events of {@code ru.otus.collection} category.
+ */
+public final class CollectionStats {
+
+    static final boolean ENABLED = Boolean.getBoolean("ru.otus.collection.stats");
+
+    private static final LongAdder GROW_COUNT = new LongAdder();
+    private static final LongAdder ELEMENTS_MOVED = new LongAdder();
+    private static final LongAdder ELEMENTS_SCANNED = new LongAdder();
+    private static final LongAdder SCAN_COUNT = new LongAdder();
+    // guarded by CollectionStats.class
+    private static int peakCapacity;
+    private static int sizeAtPeakCapacity;
+
+    static {
+        if (ENABLED) {
+            FlightRecorder.addPeriodicEvent(StatisticsEvent.class, () -> {
+                final Snapshot snapshot = snapshot();
+                final StatisticsEvent event = new StatisticsEvent();
+                event.growCount = snapshot.growCount;
+                event.bytesMoved = snapshot.bytesMoved();
+                event.elementsScanned = snapshot.elementsScanned;
+                event.peakCapacity = snapshot.peakCapacity;
+                event.sizeAtPeakCapacity = snapshot.sizeAtPeakCapacity;
+                event.commit();
+            });
+        }
+    }
+
+    private CollectionStats() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static Snapshot snapshot() {
+        synchronized (CollectionStats.class) {
+            return new Snapshot(GROW_COUNT.sum(), ELEMENTS_MOVED.sum(), ELEMENTS_SCANNED.sum(), SCAN_COUNT.sum(),
+                    peakCapacity, sizeAtPeakCapacity);
+        }
+    }
+
+    public static void reset() {
+        synchronized (CollectionStats.class) {
+            GROW_COUNT.reset();
+            ELEMENTS_MOVED.reset();
+            ELEMENTS_SCANNED.reset();
+            SCAN_COUNT.reset();
+            peakCapacity = 0;
+            sizeAtPeakCapacity = 0;
+        }
+    }
+
+    static void onGrow(final int oldCapacity, final int newCapacity, final int size) {
+        GROW_COUNT.increment();
+        synchronized (CollectionStats.class) {
+            if (newCapacity > peakCapacity) {
+                peakCapacity = newCapacity;
+                sizeAtPeakCapacity = size;
+            }
+        }
+        final GrowEvent event = new GrowEvent();
+        if (event.shouldCommit()) {
+            event.oldCapacity = oldCapacity;
+            event.newCapacity = newCapacity;
+            event.size = size;
+            event.commit();
+        }
+    }
+
+    static void onMove(final int elements) {
+        ELEMENTS_MOVED.add(elements);
+        final MoveEvent event = new MoveEvent();
+        if (event.shouldCommit()) {
+            event.elements = elements;
+            event.bytes = (long) elements * ReferenceSize.VALUE;
+            event.commit();
+        }
+    }
+
+    static void onScan(final int elements, final boolean found) {
+        SCAN_COUNT.increment();
+        ELEMENTS_SCANNED.add(elements);
+        final ScanEvent event = new ScanEvent();
+        if (event.shouldCommit()) {
+            event.elements = elements;
+            event.found = found;
+            event.commit();
+        }
+    }
+
+    /**
+     * Size of a reference in Object[]: 4 bytes with compressed oops or on a 32-bit JVM, 8 bytes otherwise.
+     * It only scales moved bytes, so a JVM which doesn't report the flag is assumed to use full references.
+     * Resolved on first use, so lists with instrumentation off never touch management beans.
+     */
+    private static final class ReferenceSize {
+
+        static final int VALUE = referenceSize();
+
+        private static int referenceSize() {
+            if ("32".equals(System.getProperty("sun.arch.data.model"))) {
+                return Integer.BYTES;
+            }
+            try {
+                final HotSpotDiagnosticMXBean hotSpot = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+                return hotSpot != null && Boolean.parseBoolean(hotSpot.getVMOption("UseCompressedOops").getValue())
+                        ? Integer.BYTES : Long.BYTES;
+            } catch (IllegalArgumentException e) {
+                // no such option
+                return Long.BYTES;
+            }
+        }
+    }
+
+    public static final class Snapshot {
+
+        private final long growCount;
+        private final long elementsMoved;
+        private final long elementsScanned;
+        private final long scanCount;
+        private final int peakCapacity;
+        private final int sizeAtPeakCapacity;
+
+        private Snapshot(final long growCount, final long elementsMoved, final long elementsScanned,
+                         final long scanCount, final int peakCapacity, final int sizeAtPeakCapacity) {
+            this.growCount = growCount;
+            this.elementsMoved = elementsMoved;
+            this.elementsScanned = elementsScanned;
+            this.scanCount = scanCount;
+            this.peakCapacity = peakCapacity;
+            this.sizeAtPeakCapacity = sizeAtPeakCapacity;
+        }
+
+        public long growCount() {
+            return growCount;
+        }
+
+        public long elementsMoved() {
+            return elementsMoved;
+        }
+
+        /**
+         * @return bytes moved by System.arraycopy of inserts and removes
+         */
+        public long bytesMoved() {
+            return elementsMoved * ReferenceSize.VALUE;
+        }
+
+        public long elementsScanned() {
+            return elementsScanned;
+        }
+
+        /**
+         * Average scan length close to list sizes means indexOf / contains are used as lookups in a loop,
+         * which is quadratic.
+         */
+        public double averageScanLength() {
+            return scanCount == 0 ? 0 : (double) elementsScanned / scanCount;
+        }
+
+        public int peakCapacity() {
+            return peakCapacity;
+        }
+
+        /**
+         * @return slots of the largest backing array which were not used when it was allocated
+         */
+        public int peakWastedSlots() {
+            return peakCapacity - sizeAtPeakCapacity;
+        }
+
+        @Override
+        public String toString() {
+            return "CollectionStats{growCount=" + growCount
+                    + ", bytesMoved=" + bytesMoved()
+                    + ", elementsScanned=" + elementsScanned
+                    + ", averageScanLength=" + averageScanLength()
+                    + ", peakCapacity=" + peakCapacity
+                    + ", peakWastedSlots=" + peakWastedSlots() + '}';
+        }
+    }
+
+    @Name("ru.otus.collection.Grow")
+    @Label("List Grow")
+    @Category({"OTUS", "Collections"})
+    @Description("Backing array of a list is reallocated")
+    @StackTrace
+    static final class GrowEvent extends Event {
+        @Label("Old Capacity")
+        int oldCapacity;
+        @Label("New Capacity")
+        int newCapacity;
+        @Label("Size")
+        int size;
+    }
+
+    /**
+     * Emitted for every insert and remove, so it's disabled by default.
+     */
+    @Name("ru.otus.collection.Move")
+    @Label("List Elements Move")
+    @Category({"OTUS", "Collections"})
+    @Description("Elements are shifted by an insert or remove in the middle of a list")
+    @StackTrace
+    @Enabled(false)
+    static final class MoveEvent extends Event {
+        @Label("Elements")
+        int elements;
+        @Label("Bytes")
+        @DataAmount
+        long bytes;
+    }
+
+    /**
+     * Emitted for every indexOf, so it's disabled by default.
+     */
+    @Name("ru.otus.collection.Scan")
+    @Label("List Scan")
+    @Category({"OTUS", "Collections"})
+    @Description("Elements are compared one by one by indexOf, lastIndexOf or contains")
+    @StackTrace
+    @Enabled(false)
+    static final class ScanEvent extends Event {
+        @Label("Elements")
+        int elements;
+        @Label("Found")
+        boolean found;
+    }
+
+    @Name("ru.otus.collection.Statistics")
+    @Label("Collection Statistics")
+    @Category({"OTUS", "Collections"})
+    @Period("1 s")
+    @StackTrace(false)
+    static final class StatisticsEvent extends Event {
+        @Label("Grow Count")
+        long growCount;
+        @Label("Bytes Moved")
+        @DataAmount
+        long bytesMoved;
+        @Label("Elements Scanned")
+        long elementsScanned;
+        @Label("Peak Capacity")
+        int peakCapacity;
+        @Label("Size At Peak Capacity")
+        int sizeAtPeakCapacity;
+    }
+}
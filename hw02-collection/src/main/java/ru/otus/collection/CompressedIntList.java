@@ -0,0 +1,358 @@
+package ru.otus.collection;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Append-only int list compressed in blocks of {@value #BLOCK_SIZE} values, for sorted or nearly sorted ids.
+ * <p>
+ * A full block keeps its first value and bit-packs deltas between neighbours with frame of reference:
+ * every delta is stored as (delta - smallest delta of the block) in the least number of bits which fits
+ * the largest one. So ids with gaps up to 15 take 4 bits each, and unsorted values cost at most one bit
+ * more than their range needs. The last block is not full yet and is kept as plain int[].
+ * <p>
+ * Per-block first values, references, bit widths and offsets make a skip index: {@link #get(int)} finds
+ * the block in O(1) and sums at most {@value #BLOCK_SIZE} deltas, and {@link #indexOf(int)} on a sorted list
+ * binary searches blocks first. Iteration decodes a whole block at once.
+ */
+public class CompressedIntList {
+
+    static final int BLOCK_SIZE = 128;
+    private static final int BLOCK_SHIFT = 7;
+    private static final int DEFAULT_BLOCKS = 4;
+    private static final int NOT_FOUND_IDX = -1;
+
+    private final GrowthPolicy growthPolicy;
+
+    // bit-packed deltas of full blocks, every block starts at a word boundary
+    private long[] words;
+    private int wordCount;
+
+    // skip index of full blocks
+    private int[] blockFirst;
+    private int[] blockMinDelta;
+    private int[] blockWordOffset;
+    private byte[] blockWidth;
+    private int blockCount;
+
+    private final int[] pending = new int[BLOCK_SIZE];
+    private int size;
+    private int lastValue;
+    // all values so far are non-decreasing
+    private boolean sorted = true;
+    // changed by clear, appends don't invalidate iterators
+    private int modCount;
+
+    public CompressedIntList() {
+        this(GrowthPolicy.defaultPolicy());
+    }
+
+    public CompressedIntList(final GrowthPolicy growthPolicy) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.words = new long[0];
+        this.blockFirst = new int[DEFAULT_BLOCKS];
+        this.blockMinDelta = new int[DEFAULT_BLOCKS];
+        this.blockWordOffset = new int[DEFAULT_BLOCKS];
+        this.blockWidth = new byte[DEFAULT_BLOCKS];
+    }
+
+    public static CompressedIntList of(final int... values) {
+        final CompressedIntList list = new CompressedIntList();
+        list.addAll(values);
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return true if values were added in non-decreasing order, so lookups use the skip index
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    public boolean add(final int value) {
+        final int inBlock = size & (BLOCK_SIZE - 1);
+        if (size > 0 && value < lastValue) {
+            sorted = false;
+        }
+        pending[inBlock] = value;
+        lastValue = value;
+        size++;
+        if (inBlock == BLOCK_SIZE - 1) {
+            sealBlock();
+        }
+        return true;
+    }
+
+    public boolean addAll(final int... values) {
+        for (int value : values) {
+            add(value);
+        }
+        return values.length != 0;
+    }
+
+    public int get(final int index) {
+        Objects.checkIndex(index, size);
+        final int block = index >>> BLOCK_SHIFT;
+        final int inBlock = index & (BLOCK_SIZE - 1);
+        if (block == blockCount) {
+            return pending[inBlock];
+        }
+        final int width = blockWidth[block];
+        final int offset = blockWordOffset[block];
+        int value = blockFirst[block] + inBlock * blockMinDelta[block];
+        if (width != 0) {
+            for (int i = 0; i < inBlock; i++) {
+                value += (int) unpack(offset, i * width, width);
+            }
+        }
+        return value;
+    }
+
+    public int indexOf(final int value) {
+        if (!sorted) {
+            return scanFrom(0, value);
+        }
+        // last block which starts below the value, the first occurrence can't be before it
+        int low = 0;
+        int high = blockCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            if (blockFirst[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return scanFrom(Math.max(high, 0), value);
+    }
+
+    public boolean contains(final int value) {
+        return indexOf(value) != NOT_FOUND_IDX;
+    }
+
+    public void clear() {
+        wordCount = 0;
+        blockCount = 0;
+        size = 0;
+        lastValue = 0;
+        sorted = true;
+        modCount++;
+    }
+
+    public void trimToSize() {
+        words = Arrays.copyOf(words, wordCount);
+        blockFirst = Arrays.copyOf(blockFirst, blockCount);
+        blockMinDelta = Arrays.copyOf(blockMinDelta, blockCount);
+        blockWordOffset = Arrays.copyOf(blockWordOffset, blockCount);
+        blockWidth = Arrays.copyOf(blockWidth, blockCount);
+    }
+
+    /**
+     * @return approximate heap bytes taken by the list data, without object headers
+     */
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES
+                + (long) blockFirst.length * (3 * Integer.BYTES + Byte.BYTES)
+                + (long) pending.length * Integer.BYTES;
+    }
+
+    public int[] toArray() {
+        final int[] result = new int[size];
+        for (int block = 0; block < blockCount; block++) {
+            decodeBlock(block, result, block << BLOCK_SHIFT);
+        }
+        System.arraycopy(pending, 0, result, blockCount << BLOCK_SHIFT, size & (BLOCK_SIZE - 1));
+        return result;
+    }
+
+    public void forEach(final IntConsumer action) {
+        Objects.requireNonNull(action);
+        final int[] decoded = new int[BLOCK_SIZE];
+        final int blocks = blockCount;
+        for (int block = 0; block < blocks; block++) {
+            decodeBlock(block, decoded, 0);
+            for (int value : decoded) {
+                action.accept(value);
+            }
+        }
+        for (int i = 0, end = size & (BLOCK_SIZE - 1); i < end; i++) {
+            action.accept(pending[i]);
+        }
+    }
+
+    public IntStream stream() {
+        // binds to the list on the terminal operation, so appends made before it are seen
+        return StreamSupport.intStream(() -> Spliterators.spliterator(iterator(), size, Spliterator.ORDERED),
+                Spliterator.ORDERED | Spliterator.SIZED, false);
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new CompressedIterator();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private int scanFrom(final int fromBlock, final int value) {
+        final int[] decoded = new int[BLOCK_SIZE];
+        for (int block = fromBlock; block < blockCount; block++) {
+            if (sorted && blockFirst[block] > value) {
+                return NOT_FOUND_IDX;
+            }
+            decodeBlock(block, decoded, 0);
+            for (int i = 0; i < BLOCK_SIZE; i++) {
+                if (decoded[i] == value) {
+                    return (block << BLOCK_SHIFT) + i;
+                }
+            }
+        }
+        for (int i = 0, end = size & (BLOCK_SIZE - 1); i < end; i++) {
+            if (pending[i] == value) {
+                return (blockCount << BLOCK_SHIFT) + i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    private void sealBlock() {
+        int minDelta = Integer.MAX_VALUE;
+        int maxDelta = Integer.MIN_VALUE;
+        for (int i = 1; i < BLOCK_SIZE; i++) {
+            // int overflow is fine, decoding wraps around the same way
+            final int delta = pending[i] - pending[i - 1];
+            minDelta = Math.min(minDelta, delta);
+            maxDelta = Math.max(maxDelta, delta);
+        }
+        final long range = (long) maxDelta - minDelta;
+        final int width = Long.SIZE - Long.numberOfLeadingZeros(range);
+        final int blockWords = ((BLOCK_SIZE - 1) * width + Long.SIZE - 1) / Long.SIZE;
+
+        ensureWords(wordCount + blockWords);
+        if (blockCount == blockFirst.length) {
+            growIndex();
+        }
+        final int offset = wordCount;
+        Arrays.fill(words, offset, offset + blockWords, 0L);
+        // block of equal deltas takes no words at all
+        for (int i = 1; i < BLOCK_SIZE && width != 0; i++) {
+            pack(offset, (i - 1) * width, (pending[i] - pending[i - 1] - minDelta) & 0xFFFFFFFFL);
+        }
+        blockFirst[blockCount] = pending[0];
+        blockMinDelta[blockCount] = minDelta;
+        blockWordOffset[blockCount] = offset;
+        blockWidth[blockCount] = (byte) width;
+        blockCount++;
+        wordCount += blockWords;
+    }
+
+    private void decodeBlock(final int block, final int[] out, final int outOffset) {
+        final int width = blockWidth[block];
+        final int offset = blockWordOffset[block];
+        final int minDelta = blockMinDelta[block];
+        int value = blockFirst[block];
+        out[outOffset] = value;
+        for (int i = 1; i < BLOCK_SIZE; i++) {
+            value += minDelta;
+            if (width != 0) {
+                value += (int) unpack(offset, (i - 1) * width, width);
+            }
+            out[outOffset + i] = value;
+        }
+    }
+
+    private void pack(final int offset, final int bitPosition, final long value) {
+        final int word = offset + (bitPosition >>> 6);
+        final int shift = bitPosition & 63;
+        words[word] |= value << shift;
+        if (shift != 0 && value >>> (Long.SIZE - shift) != 0) {
+            // value crosses word boundary
+            words[word + 1] |= value >>> (Long.SIZE - shift);
+        }
+    }
+
+    private long unpack(final int offset, final int bitPosition, final int width) {
+        final int word = offset + (bitPosition >>> 6);
+        final int shift = bitPosition & 63;
+        long value = words[word] >>> shift;
+        if (shift + width > Long.SIZE) {
+            value |= words[word + 1] << (Long.SIZE - shift);
+        }
+        return value & ((1L << width) - 1);
+    }
+
+    private void ensureWords(final int minCapacity) {
+        if (minCapacity <= words.length) {
+            return;
+        }
+        final int newCapacity = words.length == 0
+                ? Math.max(minCapacity, BLOCK_SIZE / 2)
+                : Math.max(growthPolicy.newCapacity(words.length, minCapacity), minCapacity);
+        words = Arrays.copyOf(words, newCapacity);
+    }
+
+    private void growIndex() {
+        final int newCapacity = blockFirst.length == 0
+                ? DEFAULT_BLOCKS
+                : Math.max(growthPolicy.newCapacity(blockFirst.length, blockCount + 1), blockCount + 1);
+        blockFirst = Arrays.copyOf(blockFirst, newCapacity);
+        blockMinDelta = Arrays.copyOf(blockMinDelta, newCapacity);
+        blockWordOffset = Arrays.copyOf(blockWordOffset, newCapacity);
+        blockWidth = Arrays.copyOf(blockWidth, newCapacity);
+    }
+
+    /**
+     * Decodes a whole block into a buffer when it steps into it. Appends after the iterator is created
+     * are seen, since they never change sealed blocks. {@link #clear()} does, so the iterator fails fast
+     * instead of returning values from its stale buffer.
+     */
+    private class CompressedIterator implements PrimitiveIterator.OfInt {
+
+        private final int[] decoded = new int[BLOCK_SIZE];
+        private int decodedBlock = -1;
+        private int currentPosition;
+        private final int expectedModCount = modCount;
+
+        @Override
+        public boolean hasNext() {
+            return currentPosition < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (currentPosition >= size) {
+                throw new NoSuchElementException();
+            }
+            final int block = currentPosition >>> BLOCK_SHIFT;
+            final int inBlock = currentPosition++ & (BLOCK_SIZE - 1);
+            if (block == blockCount) {
+                return pending[inBlock];
+            }
+            if (block != decodedBlock) {
+                decodeBlock(block, decoded, 0);
+                decodedBlock = block;
+            }
+            return decoded[inBlock];
+        }
+    }
+}
@@ -0,0 +1,559 @@
+package ru.otus.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Thread safe array based list, optimized for appends and indexed reads from many threads.
+ * <p>
+ * Elements live in a directory of chunks, chunk k holds 16 * 2^k elements. Chunks never move,
+ * so growing the list doesn't copy anything and readers never see a half-copied array.
+ * <ul>
+ *     <li>Append claims a slot with a single CAS on reserved counter, writes element into it
+ *     and publishes contiguous prefix of written slots by advancing size.
+ *     Element becomes visible to readers once all earlier appends are finished.</li>
+ *     <li>Indexed read is a seqlock-style optimistic read: it takes no locks and
+ *     falls back to the lock only when a structural change is in progress.</li>
+ *     <li>Structural changes in the middle of the list (insert, remove, clear, sort ...) take the lock,
+ *     freeze appends, wait for appends in flight and then work like a usual array list.</li>
+ * </ul>
+ * Callbacks of structural changes (removeIf filter, replaceAll operator, sort comparator) must not change
+ * the list structure, such calls fail with {@link IllegalStateException} instead of waiting for themselves.
+ * <p>
+ * Iterators are weakly consistent and never throw {@link java.util.ConcurrentModificationException}.
+ * Once {@code hasNext()} returned true, {@code next()} returns an element even if the list shrinks meanwhile.
+ * Null elements are not permitted, empty slot means "not written yet".
+ */
+public class ConcurrentChunkedList<T> extends AbstractList<T> {
+
+    private static final int FIRST_CHUNK_BITS = 4;
+    private static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_BITS;
+    private static final int MAX_SIZE = Integer.MAX_VALUE - FIRST_CHUNK_SIZE;
+    private static final int MAX_CHUNKS = Integer.SIZE - 1 - FIRST_CHUNK_BITS;
+    // set in reserved counter while structural change is in progress
+    private static final int FROZEN = Integer.MIN_VALUE;
+
+    private final AtomicReferenceArray<AtomicReferenceArray<Object>> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    // slots handed out to appenders
+    private final AtomicInteger reserved = new AtomicInteger();
+    // high half is version, odd while structural change is in progress, low half is size: slots which are
+    // written and visible to readers. They share one word, so a stale publishing CAS fails after a structural
+    // change even if the change has brought back the same size
+    private final AtomicLong state = new AtomicLong();
+    private final ReentrantLock structureLock = new ReentrantLock();
+
+    public ConcurrentChunkedList() {
+    }
+
+    public ConcurrentChunkedList(final Collection<? extends T> c) {
+        addAll(c);
+    }
+
+    private static long state(final int version, final int size) {
+        return (long) version << Integer.SIZE | size;
+    }
+
+    private static int versionOf(final long state) {
+        return (int) (state >>> Integer.SIZE);
+    }
+
+    private static int sizeOf(final long state) {
+        return (int) state;
+    }
+
+    private int version() {
+        return versionOf(state.get());
+    }
+
+    private static int chunkIndex(final int index) {
+        return (Integer.SIZE - 1 - Integer.numberOfLeadingZeros(index + FIRST_CHUNK_SIZE)) - FIRST_CHUNK_BITS;
+    }
+
+    private static int chunkOffset(final int index, final int chunkIndex) {
+        return index + FIRST_CHUNK_SIZE - (FIRST_CHUNK_SIZE << chunkIndex);
+    }
+
+    private AtomicReferenceArray<Object> chunk(final int chunkIndex) {
+        AtomicReferenceArray<Object> chunk = chunks.get(chunkIndex);
+        if (chunk == null) {
+            chunk = new AtomicReferenceArray<>(FIRST_CHUNK_SIZE << chunkIndex);
+            if (!chunks.compareAndSet(chunkIndex, null, chunk)) {
+                // somebody else was faster
+                chunk = chunks.get(chunkIndex);
+            }
+        }
+        return chunk;
+    }
+
+    private Object slot(final int index) {
+        final int chunkIndex = chunkIndex(index);
+        final AtomicReferenceArray<Object> chunk = chunks.get(chunkIndex);
+        return chunk == null ? null : chunk.get(chunkOffset(index, chunkIndex));
+    }
+
+    private void setSlot(final int index, final Object value) {
+        final int chunkIndex = chunkIndex(index);
+        final int offset = chunkOffset(index, chunkIndex);
+        chunk(chunkIndex).set(offset, value);
+        if (offset == 0 && chunkIndex + 1 < MAX_CHUNKS) {
+            // allocate next chunk in advance, so appenders rarely have to
+            chunk(chunkIndex + 1);
+        }
+    }
+
+    /**
+     * Reserve count slots at the end of the list.
+     *
+     * @return index of the first reserved slot
+     */
+    private int claim(final int count) {
+        while (true) {
+            final int claimed = reserved.get();
+            if (claimed < 0) {
+                checkNotReentrant();
+                awaitStructuralChange();
+            } else if (claimed > MAX_SIZE - count) {
+                throw new OutOfMemoryError("Required list size too large");
+            } else if (reserved.compareAndSet(claimed, claimed + count)) {
+                return claimed;
+            }
+        }
+    }
+
+    private void awaitStructuralChange() {
+        structureLock.lock();
+        structureLock.unlock();
+    }
+
+    private void checkNotReentrant() {
+        if (structureLock.isHeldByCurrentThread()) {
+            // the freeze can't end while its own callback waits for it
+            throw new IllegalStateException("List structure can't be changed from a callback of its structural change");
+        }
+    }
+
+    /**
+     * Move size over all written slots. Whoever finishes the last append in flight publishes everything.
+     */
+    private void publish() {
+        while (true) {
+            final long current = state.get();
+            final int published = sizeOf(current);
+            final int limit = reserved.get() & ~FROZEN;
+            int end = published;
+            while (end < limit && slot(end) != null) {
+                end++;
+            }
+            if (end == published || state.compareAndSet(current, state(versionOf(current), end))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop appends and wait for the ones in flight. Must be called under structureLock.
+     *
+     * @return current size of the list
+     */
+    private int freeze() {
+        if (reserved.get() < 0) {
+            // lock is held, so it is this thread which froze the list
+            checkNotReentrant();
+        }
+        final int claimed = reserved.getAndAdd(FROZEN);
+        while (true) {
+            final long current = state.get();
+            if (sizeOf(current) == claimed && state.compareAndSet(current, state(versionOf(current) + 1, claimed))) {
+                return claimed;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    private void unfreeze(final int newSize) {
+        state.set(state(version() + 1, newSize));
+        reserved.set(newSize);
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(state.get());
+    }
+
+    @Override
+    public T get(final int index) {
+        final long startState = state.get();
+        if ((versionOf(startState) & 1) == 0) {
+            final int currentSize = sizeOf(startState);
+            final Object element = index >= 0 && index < currentSize ? slot(index) : null;
+            if (version() == versionOf(startState)) {
+                Objects.checkIndex(index, currentSize);
+                return (T) element;
+            }
+        }
+        // structural change is in progress, wait for it
+        structureLock.lock();
+        try {
+            Objects.checkIndex(index, size());
+            return (T) slot(index);
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Optimistic read like {@link #get(int)}.
+     *
+     * @return element at index, or null if the list is shorter
+     */
+    private Object peek(final int index) {
+        final long startState = state.get();
+        if ((versionOf(startState) & 1) == 0) {
+            final Object element = index < sizeOf(startState) ? slot(index) : null;
+            if (version() == versionOf(startState)) {
+                return element;
+            }
+        }
+        structureLock.lock();
+        try {
+            return index < size() ? slot(index) : null;
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Itr();
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        Objects.requireNonNull(element);
+        // appends never touch published slots, so only structural changes have to be excluded
+        structureLock.lock();
+        try {
+            Objects.checkIndex(index, size());
+            final T oldValue = (T) slot(index);
+            setSlot(index, element);
+            return oldValue;
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean add(final T element) {
+        Objects.requireNonNull(element);
+        final int index = claim(1);
+        setSlot(index, element);
+        publish();
+        return true;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> c) {
+        final Object[] added = c.toArray();
+        if (added.length == 0) {
+            // nothing to do
+            return false;
+        }
+        for (Object element : added) {
+            Objects.requireNonNull(element);
+        }
+        final int start = claim(added.length);
+        for (int i = 0; i < added.length; i++) {
+            setSlot(start + i, added[i]);
+        }
+        publish();
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        Objects.requireNonNull(element);
+        structureLock.lock();
+        try {
+            final int oldSize = freeze();
+            int newSize = oldSize;
+            try {
+                checkPositionIndex(index, oldSize);
+                if (oldSize == MAX_SIZE) {
+                    throw new OutOfMemoryError("Required list size too large");
+                }
+                for (int i = oldSize; i > index; i--) {
+                    setSlot(i, slot(i - 1));
+                }
+                setSlot(index, element);
+                newSize = oldSize + 1;
+            } finally {
+                unfreeze(newSize);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends T> c) {
+        final Object[] added = c.toArray();
+        for (Object element : added) {
+            Objects.requireNonNull(element);
+        }
+        structureLock.lock();
+        try {
+            final int oldSize = freeze();
+            int newSize = oldSize;
+            try {
+                checkPositionIndex(index, oldSize);
+                if (added.length == 0) {
+                    return false;
+                }
+                if (oldSize > MAX_SIZE - added.length) {
+                    throw new OutOfMemoryError("Required list size too large");
+                }
+                for (int i = oldSize - 1; i >= index; i--) {
+                    setSlot(i + added.length, slot(i));
+                }
+                for (int i = 0; i < added.length; i++) {
+                    setSlot(index + i, added[i]);
+                }
+                newSize = oldSize + added.length;
+                return true;
+            } finally {
+                unfreeze(newSize);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public T remove(final int index) {
+        structureLock.lock();
+        try {
+            final int oldSize = freeze();
+            int newSize = oldSize;
+            try {
+                Objects.checkIndex(index, oldSize);
+                final T oldValue = (T) slot(index);
+                shiftLeft(index, oldSize);
+                newSize = oldSize - 1;
+                return oldValue;
+            } finally {
+                unfreeze(newSize);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (o == null) {
+            return false;
+        }
+        structureLock.lock();
+        try {
+            final int oldSize = freeze();
+            int newSize = oldSize;
+            try {
+                for (int i = 0; i < oldSize; i++) {
+                    if (o.equals(slot(i))) {
+                        shiftLeft(i, oldSize);
+                        newSize = oldSize - 1;
+                        return true;
+                    }
+                }
+                return false;
+            } finally {
+                unfreeze(newSize);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    private void shiftLeft(final int index, final int currentSize) {
+        for (int i = index + 1; i < currentSize; i++) {
+            setSlot(i - 1, slot(i));
+        }
+        setSlot(currentSize - 1, null);
+    }
+
+    @Override
+    public void clear() {
+        structureLock.lock();
+        try {
+            final int oldSize = freeze();
+            int newSize = oldSize;
+            try {
+                for (int i = 0; i < oldSize; i++) {
+                    setSlot(i, null);
+                }
+                newSize = 0;
+            } finally {
+                unfreeze(newSize);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+        structureLock.lock();
+        try {
+            final int oldSize = freeze();
+            int newSize = oldSize;
+            try {
+                // test everything first, so a throwing filter leaves the list untouched
+                final BitSet removed = new BitSet(oldSize);
+                for (int i = 0; i < oldSize; i++) {
+                    if (filter.test((T) slot(i))) {
+                        removed.set(i);
+                    }
+                }
+                if (removed.isEmpty()) {
+                    return false;
+                }
+                int w = 0;
+                for (int i = 0; i < oldSize; i++) {
+                    if (!removed.get(i)) {
+                        setSlot(w++, slot(i));
+                    }
+                }
+                for (int i = w; i < oldSize; i++) {
+                    setSlot(i, null);
+                }
+                newSize = w;
+                return true;
+            } finally {
+                unfreeze(newSize);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(element -> !c.contains(element));
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        structureLock.lock();
+        try {
+            final int currentSize = freeze();
+            try {
+                for (int i = 0; i < currentSize; i++) {
+                    setSlot(i, Objects.requireNonNull(operator.apply((T) slot(i))));
+                }
+            } finally {
+                unfreeze(currentSize);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    @Override
+    public void sort(final Comparator<? super T> c) {
+        structureLock.lock();
+        try {
+            final int currentSize = freeze();
+            try {
+                final Object[] sorted = new Object[currentSize];
+                for (int i = 0; i < currentSize; i++) {
+                    sorted[i] = slot(i);
+                }
+                Arrays.sort((T[]) sorted, c);
+                for (int i = 0; i < currentSize; i++) {
+                    setSlot(i, sorted[i]);
+                }
+            } finally {
+                unfreeze(currentSize);
+            }
+        } finally {
+            structureLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the element ahead in hasNext, so a concurrent shrink can't make next fail.
+     */
+    private final class Itr implements Iterator<T> {
+
+        private int cursor;
+        private int lastRet = -1;
+        // element at cursor, read by hasNext
+        private Object next;
+        private int nextVersion;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                nextVersion = version();
+                next = peek(cursor);
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object element = next;
+            if (version() != nextVersion) {
+                // structure has changed since hasNext, take the current element if the slot still exists
+                final Object current = peek(cursor);
+                if (current != null) {
+                    element = current;
+                }
+            }
+            next = null;
+            lastRet = cursor++;
+            return (T) element;
+        }
+
+        @Override
+        public void remove() {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            ConcurrentChunkedList.this.remove(lastRet);
+            cursor = lastRet;
+            lastRet = -1;
+            next = null;
+        }
+    }
+
+    private static void checkPositionIndex(final int index, final int size) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
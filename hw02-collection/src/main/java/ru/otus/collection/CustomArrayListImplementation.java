@@ -1,51 +1,332 @@
 package ru.otus.collection;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.OptionalInt;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.IntStream;
+import java.util.function.UnaryOperator;
 
 public class CustomArrayListImplementation<T> implements List<T> {
 
 
     private static final Object[] EMPTY_ARRAY = {};
     private static final int DEFAULT_SIZE = 16;
-    private static final int INCREASE_STEP = 64;
     private static final int NOT_FOUND_IDX = -1;
+    private static final int LINEAR_LOOKUP_THRESHOLD = 16;
+    // below it parallel sort costs more than it gains
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+    // longer shifts leave hash index for lazy rebuild instead of updating every moved position
+    private static final int INDEX_SHIFT_UPDATE_LIMIT = 32;
 
 
+    private final GrowthPolicy growthPolicy;
+    // null if backing arrays are not pooled
+    private final ArrayPool pool;
     private Object[] elements;
     private int size;
+    // number of structural modifications, lets iterators and spliterators fail fast
+    private int modCount;
+    // prefix of elements array which is shared with snapshots and must be copied before any write into it
+    private int sharedLength;
+    // null unless hash index mode is enabled
+    private HashIndex hashIndex;
+    // index is up to date only when it was updated at this modCount
+    private int indexedModCount;
+    // null unless membership filter is enabled, holds a superset of elements
+    private BlockedBloomFilter membershipFilter;
 
     public CustomArrayListImplementation() {
+        this(GrowthPolicy.defaultPolicy());
+    }
+
+    public CustomArrayListImplementation(final GrowthPolicy growthPolicy) {
+        this(growthPolicy, null);
+    }
+
+    /**
+     * Create list which borrows backing arrays from the pool and returns them on {@link #release()} or {@link #clear()}.
+     */
+    public CustomArrayListImplementation(final ArrayPool pool) {
+        this(GrowthPolicy.defaultPolicy(), Objects.requireNonNull(pool));
+    }
+
+    public CustomArrayListImplementation(final GrowthPolicy growthPolicy, final ArrayPool pool) {
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.pool = pool;
         this.elements = EMPTY_ARRAY;
         this.size = 0;
     }
 
-    public CustomArrayListImplementation(final int size) {
-        this.elements = new Object[size];
-        this.size = size;
+    /**
+     * Create empty list which can hold initialCapacity elements without regrowing.
+     *
+     * @param initialCapacity capacity hint
+     */
+    public CustomArrayListImplementation(final int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.defaultPolicy());
+    }
+
+    public CustomArrayListImplementation(final int initialCapacity, final GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.pool = null;
+        this.elements = initialCapacity == 0 ? EMPTY_ARRAY : new Object[initialCapacity];
+        this.size = 0;
     }
 
     private Object[] growArray(final int atLeastNewSize) {
-        final int previousSize = elements.length;
-        if (previousSize == 0 || elements == EMPTY_ARRAY) {
-            elements = new Object[Math.max(atLeastNewSize, DEFAULT_SIZE)];
-            size = 0;
+        if (atLeastNewSize < 0) {
+            // int overflow of size + additional elements count
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        final int newCapacity;
+        if (elements == EMPTY_ARRAY) {
+            newCapacity = Math.max(atLeastNewSize, DEFAULT_SIZE);
         } else {
-            elements = Arrays.copyOf(elements, atLeastNewSize + INCREASE_STEP);
+            // policy must not shrink an array, whatever it returns
+            newCapacity = Math.max(growthPolicy.newCapacity(elements.length, atLeastNewSize), atLeastNewSize);
+        }
+        if (CollectionStats.ENABLED) {
+            CollectionStats.onGrow(elements.length, newCapacity, size);
         }
+        if (pool == null) {
+            elements = Arrays.copyOf(elements, newCapacity);
+        } else {
+            final Object[] newElements = pool.acquire(newCapacity);
+            System.arraycopy(elements, 0, newElements, 0, size);
+            releaseElements();
+            elements = newElements;
+        }
+        sharedLength = 0;
         return elements;
     }
 
+    /**
+     * Grow backing array (if needed), so it can hold at least minCapacity elements.
+     * Useful before ingesting a large batch to avoid intermediate copies.
+     *
+     * @param minCapacity desired minimum capacity
+     */
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity > elements.length) {
+            elements = growArray(minCapacity);
+        }
+    }
+
+    /**
+     * Shrink backing array to the current size of the list.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            final Object[] trimmed = size == 0 ? EMPTY_ARRAY : Arrays.copyOf(elements, size);
+            releaseElements();
+            elements = trimmed;
+            sharedLength = 0;
+        }
+    }
+
+    /**
+     * Make the list empty and drop its backing array. Array of a pooled list goes back to the pool,
+     * so the list must not be used from other threads after this call.
+     */
+    public void release() {
+        modCount++;
+        if (membershipFilter != null) {
+            membershipFilter.markStale();
+        }
+        releaseElements();
+        elements = EMPTY_ARRAY;
+        size = 0;
+        sharedLength = 0;
+    }
+
+    /**
+     * Turn on hash index mode: indexOf, lastIndexOf, contains and containsAll become O(1) on average.
+     * <p>
+     * Appends, set and removes near the end update the index in place. Other changes, like inserts or removes
+     * far from the end, sorting or bulk removes, just mark it stale, and the next lookup rebuilds it in O(n).
+     * Costs about 40 bytes per distinct element plus 4 bytes per duplicate, many duplicates don't slow
+     * lookups down. Lookups may rebuild the index, so they are not read-only anymore
+     * and need the same synchronization as updates.
+     */
+    public void enableHashIndex() {
+        if (hashIndex == null) {
+            hashIndex = new HashIndex();
+            // stale, so the first lookup builds it
+            indexedModCount = modCount - 1;
+        }
+    }
+
+    public void disableHashIndex() {
+        hashIndex = null;
+    }
+
+    public boolean isHashIndexEnabled() {
+        return hashIndex != null;
+    }
+
+    private boolean isIndexCurrent() {
+        return hashIndex != null && indexedModCount == modCount;
+    }
+
+    private HashIndex currentIndex() {
+        if (indexedModCount != modCount) {
+            hashIndex.rebuild(elements, size);
+            indexedModCount = modCount;
+        }
+        return hashIndex;
+    }
+
+    /**
+     * Turn on Bloom filter in front of indexOf, lastIndexOf and contains, so most lookups of absent elements
+     * return without a scan. Added elements are put into the filter at once. Removed ones stay in it
+     * as stale bits, and the filter is rebuilt by the next lookup when they make it too weak. Like with
+     * {@link #enableHashIndex()}, lookups are not read-only then and need the same synchronization as updates.
+     *
+     * @param falsePositiveRate target share of absent elements which still go to a full scan
+     */
+    public void enableMembershipFilter(final double falsePositiveRate) {
+        membershipFilter = new BlockedBloomFilter(size, falsePositiveRate);
+        membershipFilter.rebuild(elements, size);
+    }
+
+    public void disableMembershipFilter() {
+        membershipFilter = null;
+    }
+
+    /**
+     * @return false positive rate and memory cost of the membership filter
+     * @throws IllegalStateException if the filter is not enabled
+     */
+    public BlockedBloomFilter.Stats membershipFilterStats() {
+        if (membershipFilter == null) {
+            throw new IllegalStateException("Membership filter is not enabled");
+        }
+        return membershipFilter.stats();
+    }
+
+    private boolean mightContain(final Object o) {
+        if (membershipFilter.isDegraded()) {
+            membershipFilter.rebuild(elements, size);
+        }
+        if (membershipFilter.mightContain(o)) {
+            return true;
+        }
+        membershipFilter.onLookup(false);
+        return false;
+    }
+
+    private void addToFilter(final int fromIndex, final int toIndex) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            membershipFilter.add(elements[i]);
+        }
+    }
+
+    /**
+     * Scrub and return backing array to the pool, unless a snapshot still reads it.
+     */
+    private void releaseElements() {
+        if (pool != null && sharedLength == 0 && elements != EMPTY_ARRAY) {
+            pool.release(elements, size);
+        }
+    }
+
+    /**
+     * Immutable snapshot of current contents, created in O(1) without copying elements.
+     * The backing array is shared with the snapshot, so the list copies it once
+     * on the first write into the shared part. Appends don't need that copy.
+     *
+     * @return persistent vector which can be read and updated from any thread without locks
+     */
+    public PersistentVector<T> snapshot() {
+        sharedLength = Math.max(sharedLength, size);
+        return PersistentVector.freeze(elements, size);
+    }
+
+    private void beforeWrite(final int fromIndex) {
+        if (fromIndex < sharedLength) {
+            elements = Arrays.copyOf(elements, elements.length);
+            sharedLength = 0;
+        }
+    }
+
+    /**
+     * Write elements in compact binary format, see {@link #readFrom}. Channel is not closed.
+     *
+     * @param codec    fixed-width codec of elements, the same codec reads them back
+     * @param compress deflate records chunk by chunk
+     */
+    public void writeTo(final WritableByteChannel channel, final FixedWidthCodec<? super T> codec,
+                        final boolean compress) throws IOException {
+        final int expectedModCount = modCount;
+        final int width = codec.width();
+        final BinaryListFormat.Writer writer = new BinaryListFormat.Writer(
+                channel, BinaryListFormat.TYPE_RECORD, width, size, compress);
+        final ByteBuffer buffer = writer.buffer();
+        for (int i = 0; i < size; i++) {
+            if (buffer.remaining() < width) {
+                writer.flush();
+            }
+            final int position = buffer.position();
+            codec.encode((T) elements[i], buffer, position);
+            buffer.position(position + width);
+        }
+        writer.finish();
+        checkForComodification(expectedModCount);
+    }
+
+    /**
+     * Read list written by {@link #writeTo}, capacity of the list is taken from the header. Channel is not closed.
+     */
+    public static <T> CustomArrayListImplementation<T> readFrom(final ReadableByteChannel channel,
+                                                                final FixedWidthCodec<T> codec) throws IOException {
+        final int width = codec.width();
+        final BinaryListFormat.Reader reader = new BinaryListFormat.Reader(channel, BinaryListFormat.TYPE_RECORD, width);
+        final CustomArrayListImplementation<T> list = new CustomArrayListImplementation<>(reader.size());
+        final Object[] es = list.elements;
+        for (int i = 0; i < es.length; i++) {
+            final ByteBuffer buffer = reader.next();
+            final int position = buffer.position();
+            es[i] = codec.decode(buffer, position);
+            buffer.position(position + width);
+        }
+        reader.finish();
+        list.size = es.length;
+        return list;
+    }
+
+    /**
+     * Wrap array without copying, the list owns it from now on.
+     */
+    static <T> CustomArrayListImplementation<T> adopt(final Object[] elements, final int size) {
+        final CustomArrayListImplementation<T> list = new CustomArrayListImplementation<>();
+        list.elements = elements.length == 0 ? EMPTY_ARRAY : elements;
+        list.size = size;
+        return list;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
     @Override
     public int size() {
         return size;
@@ -73,7 +354,14 @@ public class CustomArrayListImplementation<T> implements List<T> {
 
     @Override
     public <T1> T1[] toArray(T1[] a) {
-        throw new UnsupportedOperationException();
+        if (a.length < size) {
+            return (T1[]) Arrays.copyOf(elements, size, a.getClass());
+        }
+        System.arraycopy(elements, 0, a, 0, size);
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
     }
 
     @Override
@@ -81,25 +369,72 @@ public class CustomArrayListImplementation<T> implements List<T> {
         if (size == elements.length) {
             elements = growArray(size + 1);
         }
+        final boolean indexed = isIndexCurrent();
+        modCount++;
         elements[size] = t;
         size += 1;
+        if (membershipFilter != null) {
+            membershipFilter.add(t);
+        }
+        if (indexed) {
+            hashIndex.insert(t, size - 1);
+            indexedModCount = modCount;
+        }
         return true;
     }
 
     @Override
     public boolean remove(Object o) {
         final int indexOfElement = indexOf(o);
+        if (indexOfElement == NOT_FOUND_IDX) {
+            return false;
+        }
+        fastRemove(indexOfElement);
+        return true;
+    }
+
+    private void fastRemove(final int index) {
+        beforeWrite(index);
+        final boolean indexed = isIndexCurrent() && size - index <= INDEX_SHIFT_UPDATE_LIMIT;
+        if (indexed) {
+            hashIndex.delete(elements[index], index);
+            for (int i = index + 1; i < size; i++) {
+                hashIndex.move(elements[i], i, i - 1);
+            }
+        }
+        modCount++;
+        if (indexed) {
+            indexedModCount = modCount;
+        }
+        if (membershipFilter != null) {
+            membershipFilter.onRemove(1);
+        }
         final int newSize = size - 1;
-        if (indexOfElement < size - 1) {
-            System.arraycopy(elements, indexOfElement + 1, elements, indexOfElement, newSize - indexOfElement);
+        if (index < newSize) {
+            System.arraycopy(elements, index + 1, elements, index, newSize - index);
+            if (CollectionStats.ENABLED) {
+                CollectionStats.onMove(newSize - index);
+            }
         }
         elements[size = newSize] = null;
-        return true;
     }
 
     @Override
     public boolean containsAll(Collection<?> c) {
-        throw new UnsupportedOperationException();
+        if (c.size() <= LINEAR_LOOKUP_THRESHOLD || hashIndex != null) {
+            for (Object o : c) {
+                if (indexOf(o) == NOT_FOUND_IDX) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        // hash own elements once instead of scanning them for every element of c
+        final Set<Object> lookup = new HashSet<>(Math.max((int) (size / .75f) + 1, 16));
+        for (int i = 0; i < size; i++) {
+            lookup.add(elements[i]);
+        }
+        return lookup.containsAll(c);
     }
 
     @Override
@@ -114,8 +449,19 @@ public class CustomArrayListImplementation<T> implements List<T> {
             elements = growArray(size + additionalSize);
         }
 
+        final boolean indexed = isIndexCurrent();
+        modCount++;
         System.arraycopy(c.toArray(), 0, elements, size, additionalSize);
         size += additionalSize;
+        if (membershipFilter != null) {
+            addToFilter(size - additionalSize, size);
+        }
+        if (indexed) {
+            for (int i = size - additionalSize; i < size; i++) {
+                hashIndex.insert(elements[i], i);
+            }
+            indexedModCount = modCount;
+        }
         return true;
     }
 
@@ -139,30 +485,50 @@ public class CustomArrayListImplementation<T> implements List<T> {
             elements = growArray(size + additionalSize);
         }
 
+        beforeWrite(index);
+        modCount++;
         final int movedNumberOfElements = size - index;
         if (movedNumberOfElements > 0) {
             System.arraycopy(elements, index, elements, index + additionalSize, movedNumberOfElements);
+            if (CollectionStats.ENABLED) {
+                CollectionStats.onMove(movedNumberOfElements);
+            }
         }
         System.arraycopy(c.toArray(), 0, elements, index, additionalSize);
         size += additionalSize;
+        if (membershipFilter != null) {
+            addToFilter(index, index + additionalSize);
+        }
 
         return true;
     }
 
     @Override
     public boolean removeAll(Collection<?> c) {
-        throw new UnsupportedOperationException();
+        final Collection<?> lookup = asLookup(Objects.requireNonNull(c));
+        return removeIf(lookup::contains);
     }
 
     @Override
     public boolean retainAll(Collection<?> c) {
-        throw new UnsupportedOperationException();
+        final Collection<?> lookup = asLookup(Objects.requireNonNull(c));
+        return removeIf(element -> !lookup.contains(element));
     }
 
     @Override
     public void clear() {
+        if (pool != null) {
+            release();
+            return;
+        }
+        beforeWrite(0);
+        modCount++;
+        if (membershipFilter != null) {
+            membershipFilter.markStale();
+        }
         for (int i = 0; i < size; i++)
             elements[i] = null;
+        size = 0;
     }
 
     @Override
@@ -174,8 +540,16 @@ public class CustomArrayListImplementation<T> implements List<T> {
     @Override
     public T set(int index, T element) {
         Objects.checkIndex(index, size);
+        beforeWrite(index);
         T oldValue = (T) elements[index];
         elements[index] = element;
+        if (membershipFilter != null) {
+            membershipFilter.add(element);
+            membershipFilter.onRemove(1);
+        }
+        if (isIndexCurrent()) {
+            hashIndex.replace(oldValue, element, index);
+        }
         return oldValue;
     }
 
@@ -185,49 +559,313 @@ public class CustomArrayListImplementation<T> implements List<T> {
 
         // has no place to insert
         if (size == elements.length)
-            elements = growArray(size);
+            elements = growArray(size + 1);
 
+        beforeWrite(index);
+        final boolean indexed = isIndexCurrent() && size - index <= INDEX_SHIFT_UPDATE_LIMIT;
+        if (indexed) {
+            // from the end, so a moved position never collides with the one not moved yet
+            for (int i = size - 1; i >= index; i--) {
+                hashIndex.move(elements[i], i, i + 1);
+            }
+        }
+        modCount++;
         System.arraycopy(elements, index, elements, index + 1, size - index);
+        if (CollectionStats.ENABLED) {
+            CollectionStats.onMove(size - index);
+        }
         elements[index] = element;
         size += 1;
+        if (membershipFilter != null) {
+            membershipFilter.add(element);
+        }
+        if (indexed) {
+            hashIndex.insert(element, index);
+            indexedModCount = modCount;
+        }
     }
 
     @Override
     public T remove(int index) {
-        checkIndex(index);
+        Objects.checkIndex(index, size);
         final T oldValue = (T) elements[index];
+        fastRemove(index);
+        return oldValue;
+    }
 
-        final int newSize = size - 1;
-        if (index < size - 1) {
-            System.arraycopy(elements, index + 1, elements, index, newSize - index);
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        final Object[] es = elements;
+        final int end = size;
+        for (int i = 0; modCount == expectedModCount && i < end; i++) {
+            action.accept((T) es[i]);
         }
-        elements[size = newSize] = null;
-        return oldValue;
+        checkForComodification(expectedModCount);
     }
 
-    private OptionalInt indexOfInternal(final int startPosition, final int endPosition,
-                                        final Predicate<Object> function) {
-        return IntStream.range(startPosition, endPosition).filter(i -> function.test(elements[i])).findFirst();
+    /**
+     * Removes matching elements in a single compaction pass instead of shifting tail for every match.
+     */
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        return removeIfRange(filter, 0, size) > 0;
+    }
+
+    /**
+     * Compact matching elements out of [fromIndex, toIndex) and shift the rest of the list once.
+     *
+     * @return number of removed elements
+     */
+    private int removeIfRange(final Predicate<? super T> filter, final int fromIndex, final int toIndex) {
+        Objects.requireNonNull(filter);
+        final int expectedModCount = modCount;
+        int i = fromIndex;
+        // skip leading elements which are kept as they are
+        while (i < toIndex && !filter.test((T) elements[i])) {
+            i++;
+        }
+        if (i == toIndex) {
+            checkForComodification(expectedModCount);
+            return 0;
+        }
+        beforeWrite(i);
+        final Object[] es = elements;
+        int w = i;
+        try {
+            for (i++; i < toIndex; i++) {
+                final T element = (T) es[i];
+                if (!filter.test(element)) {
+                    es[w++] = element;
+                }
+            }
+        } finally {
+            if (i < toIndex) {
+                // filter has thrown, keep untested elements
+                System.arraycopy(es, i, es, w, toIndex - i);
+                w += toIndex - i;
+            }
+            final int removed = toIndex - w;
+            System.arraycopy(es, toIndex, es, w, size - toIndex);
+            if (CollectionStats.ENABLED) {
+                CollectionStats.onMove(size - toIndex);
+            }
+            Arrays.fill(es, size - removed, size, null);
+            size -= removed;
+            // at least the first match is gone, so open iterators must fail even if the filter has thrown
+            modCount++;
+            if (membershipFilter != null) {
+                membershipFilter.onRemove(removed);
+            }
+        }
+        checkForComodification(expectedModCount + 1);
+        return toIndex - w;
+    }
+
+    private void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        beforeWrite(fromIndex);
+        modCount++;
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        if (CollectionStats.ENABLED) {
+            CollectionStats.onMove(size - toIndex);
+        }
+        final int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+        if (membershipFilter != null) {
+            membershipFilter.onRemove(toIndex - fromIndex);
+        }
     }
 
     @Override
-    public int indexOf(Object o) {
+    public void replaceAll(final UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+        final int expectedModCount = modCount;
+        beforeWrite(0);
+        if (membershipFilter != null) {
+            // new values are not known until the operator returns, and it may throw halfway
+            membershipFilter.markStale();
+        }
+        final Object[] es = elements;
+        final int end = size;
+        for (int i = 0; modCount == expectedModCount && i < end; i++) {
+            es[i] = operator.apply((T) es[i]);
+        }
+        checkForComodification(expectedModCount);
+        modCount++;
+    }
+
+    /**
+     * Sorts backing array in place instead of default copy, sort and write back through list iterator.
+     * Large lists are sorted by {@link Arrays#parallelSort}, which merges sorted parts in common ForkJoin pool.
+     */
+    @Override
+    public void sort(final Comparator<? super T> c) {
+        final int expectedModCount = modCount;
+        sortRange(0, size, c);
+        checkForComodification(expectedModCount);
+        modCount++;
+    }
+
+    private void sortRange(final int fromIndex, final int toIndex, final Comparator<? super T> c) {
+        beforeWrite(fromIndex);
+        if (toIndex - fromIndex >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort((T[]) elements, fromIndex, toIndex, c);
+        } else {
+            Arrays.sort((T[]) elements, fromIndex, toIndex, c);
+        }
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return new CustomSpliterator(0, -1, 0);
+    }
+
+    private void checkForComodification(final int expectedModCount) {
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    private int indexOfRange(final Object o, final int startPosition, final int endPosition) {
+        final Object[] es = elements;
         if (o == null) {
             // if object is null, then equals will throw NPE
-            return indexOfInternal(0, size, Objects::isNull).orElse(NOT_FOUND_IDX);
+            for (int i = startPosition; i < endPosition; i++) {
+                if (es[i] == null) {
+                    return i;
+                }
+            }
         } else {
-            return indexOfInternal(0, size, o::equals).orElse(NOT_FOUND_IDX);
+            for (int i = startPosition; i < endPosition; i++) {
+                if (o.equals(es[i])) {
+                    return i;
+                }
+            }
         }
+        return NOT_FOUND_IDX;
     }
 
-    @Override
-    public int lastIndexOf(Object o) {
+    private int lastIndexOfRange(final Object o, final int startPosition, final int endPosition) {
+        final Object[] es = elements;
         if (o == null) {
             // if object is null, then equals will throw NPE
-            return indexOfInternal(size - 1, -1, Objects::isNull).orElse(NOT_FOUND_IDX);
+            for (int i = endPosition - 1; i >= startPosition; i--) {
+                if (es[i] == null) {
+                    return i;
+                }
+            }
         } else {
-            return indexOfInternal(size - 1, -1, o::equals).orElse(NOT_FOUND_IDX);
+            for (int i = endPosition - 1; i >= startPosition; i--) {
+                if (o.equals(es[i])) {
+                    return i;
+                }
+            }
         }
+        return NOT_FOUND_IDX;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (membershipFilter != null && !mightContain(o)) {
+            return NOT_FOUND_IDX;
+        }
+        final int index;
+        if (hashIndex != null) {
+            index = currentIndex().first(o);
+        } else {
+            index = indexOfRange(o, 0, size);
+            if (CollectionStats.ENABLED) {
+                CollectionStats.onScan(index == NOT_FOUND_IDX ? size : index + 1, index != NOT_FOUND_IDX);
+            }
+        }
+        if (membershipFilter != null && index == NOT_FOUND_IDX) {
+            membershipFilter.onLookup(true);
+        }
+        return index;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        if (membershipFilter != null && !mightContain(o)) {
+            return NOT_FOUND_IDX;
+        }
+        final int index;
+        if (hashIndex != null) {
+            index = currentIndex().last(o);
+        } else {
+            index = lastIndexOfRange(o, 0, size);
+            if (CollectionStats.ENABLED) {
+                CollectionStats.onScan(index == NOT_FOUND_IDX ? size : size - index, index != NOT_FOUND_IDX);
+            }
+        }
+        if (membershipFilter != null && index == NOT_FOUND_IDX) {
+            membershipFilter.onLookup(true);
+        }
+        return index;
+    }
+
+    /**
+     * Find positions of all elements equal to o in a single pass.
+     *
+     * @param o element to search
+     * @return ascending indexes of matching elements
+     */
+    public IntList indexOfAll(final Object o) {
+        final IntList result = new IntList();
+        final Object[] es = elements;
+        for (int i = 0, end = size; i < end; i++) {
+            if (Objects.equals(o, es[i])) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    public int countOf(final Object o) {
+        int count = 0;
+        final Object[] es = elements;
+        for (int i = 0, end = size; i < end; i++) {
+            if (Objects.equals(o, es[i])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Find first element which is contained in c.
+     *
+     * @param c elements to search
+     * @return index of first matching element or -1
+     */
+    public int indexOfAny(final Collection<?> c) {
+        if (c.isEmpty()) {
+            return NOT_FOUND_IDX;
+        }
+        final Collection<?> lookup = asLookup(c);
+        final Object[] es = elements;
+        for (int i = 0, end = size; i < end; i++) {
+            if (lookup.contains(es[i])) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    /**
+     * Make contains() of big collection O(1), so single scan over elements stays O(n).
+     * Used by search and bulk removal methods.
+     */
+    private static Collection<?> asLookup(final Collection<?> c) {
+        if (c instanceof Set || c.size() <= LINEAR_LOOKUP_THRESHOLD) {
+            return c;
+        }
+        return new HashSet<>(c);
     }
 
     @Override
@@ -242,7 +880,207 @@ public class CustomArrayListImplementation<T> implements List<T> {
 
     @Override
     public List<T> subList(int fromIndex, int toIndex) {
-        return null;
+        subListRangeCheck(fromIndex, toIndex, size);
+        return new CustomSubList(null, fromIndex, toIndex);
+    }
+
+    private static void subListRangeCheck(final int fromIndex, final int toIndex, final int size) {
+        if (fromIndex < 0) {
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex);
+        }
+        if (toIndex > size) {
+            throw new IndexOutOfBoundsException("toIndex = " + toIndex);
+        }
+        if (fromIndex > toIndex) {
+            throw new IllegalArgumentException("fromIndex(" + fromIndex + ") > toIndex(" + toIndex + ")");
+        }
+    }
+
+    /**
+     * View of [offset, offset + size) range, which works directly on the backing array of the list.
+     * Every structural change made through the view updates sizes of all its parent views.
+     */
+    private class CustomSubList extends AbstractList<T> implements RandomAccess {
+
+        // null for a view created by the list itself
+        private final CustomSubList parent;
+        private final int offset;
+        private int size;
+
+        CustomSubList(final CustomSubList parent, final int fromIndex, final int toIndex) {
+            this.parent = parent;
+            this.offset = (parent == null ? 0 : parent.offset) + fromIndex;
+            this.size = toIndex - fromIndex;
+            this.modCount = CustomArrayListImplementation.this.modCount;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public T get(final int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            return (T) elements[offset + index];
+        }
+
+        @Override
+        public T set(final int index, final T element) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            return CustomArrayListImplementation.this.set(offset + index, element);
+        }
+
+        @Override
+        public void add(final int index, final T element) {
+            checkPositionIndex(index);
+            checkForComodification();
+            CustomArrayListImplementation.this.add(offset + index, element);
+            updateSizeAndModCount(1);
+        }
+
+        @Override
+        public T remove(final int index) {
+            Objects.checkIndex(index, size);
+            checkForComodification();
+            final T oldValue = CustomArrayListImplementation.this.remove(offset + index);
+            updateSizeAndModCount(-1);
+            return oldValue;
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends T> c) {
+            return addAll(size, c);
+        }
+
+        @Override
+        public boolean addAll(final int index, final Collection<? extends T> c) {
+            checkPositionIndex(index);
+            checkForComodification();
+            final int additionalSize = c.size();
+            if (!CustomArrayListImplementation.this.addAll(offset + index, c)) {
+                return false;
+            }
+            updateSizeAndModCount(additionalSize);
+            return true;
+        }
+
+        /**
+         * Used by clear(), removes the whole range with a single arraycopy.
+         */
+        @Override
+        protected void removeRange(final int fromIndex, final int toIndex) {
+            checkForComodification();
+            CustomArrayListImplementation.this.removeRange(offset + fromIndex, offset + toIndex);
+            updateSizeAndModCount(fromIndex - toIndex);
+        }
+
+        @Override
+        public boolean removeIf(final Predicate<? super T> filter) {
+            checkForComodification();
+            final int outerSize = CustomArrayListImplementation.this.size;
+            try {
+                return removeIfRange(filter, offset, offset + size) > 0;
+            } finally {
+                // follow the outer list even if the filter has thrown after some elements were removed
+                if (CustomArrayListImplementation.this.size != outerSize) {
+                    updateSizeAndModCount(CustomArrayListImplementation.this.size - outerSize);
+                }
+            }
+        }
+
+        @Override
+        public boolean removeAll(final Collection<?> c) {
+            final Collection<?> lookup = asLookup(Objects.requireNonNull(c));
+            return removeIf(lookup::contains);
+        }
+
+        @Override
+        public boolean retainAll(final Collection<?> c) {
+            final Collection<?> lookup = asLookup(Objects.requireNonNull(c));
+            return removeIf(element -> !lookup.contains(element));
+        }
+
+        @Override
+        public int indexOf(final Object o) {
+            checkForComodification();
+            final int index = indexOfRange(o, offset, offset + size);
+            if (CollectionStats.ENABLED) {
+                CollectionStats.onScan(index == NOT_FOUND_IDX ? size : index - offset + 1, index != NOT_FOUND_IDX);
+            }
+            return index == NOT_FOUND_IDX ? NOT_FOUND_IDX : index - offset;
+        }
+
+        @Override
+        public int lastIndexOf(final Object o) {
+            checkForComodification();
+            final int index = lastIndexOfRange(o, offset, offset + size);
+            if (CollectionStats.ENABLED) {
+                CollectionStats.onScan(index == NOT_FOUND_IDX ? size : offset + size - index, index != NOT_FOUND_IDX);
+            }
+            return index == NOT_FOUND_IDX ? NOT_FOUND_IDX : index - offset;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            return indexOf(o) != NOT_FOUND_IDX;
+        }
+
+        /**
+         * Sorts the range in place.
+         */
+        @Override
+        public void sort(final Comparator<? super T> c) {
+            checkForComodification();
+            sortRange(offset, offset + size, c);
+            CustomArrayListImplementation.this.modCount++;
+            updateSizeAndModCount(0);
+        }
+
+        @Override
+        public void forEach(final Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            checkForComodification();
+            final Object[] es = elements;
+            for (int i = offset, end = offset + size; i < end; i++) {
+                action.accept((T) es[i]);
+            }
+            checkForComodification();
+        }
+
+        @Override
+        public Object[] toArray() {
+            checkForComodification();
+            return Arrays.copyOfRange(elements, offset, offset + size);
+        }
+
+        @Override
+        public List<T> subList(final int fromIndex, final int toIndex) {
+            subListRangeCheck(fromIndex, toIndex, size);
+            return new CustomSubList(this, fromIndex, toIndex);
+        }
+
+        private void updateSizeAndModCount(final int sizeChange) {
+            for (CustomSubList view = this; view != null; view = view.parent) {
+                view.size += sizeChange;
+                view.modCount = CustomArrayListImplementation.this.modCount;
+            }
+        }
+
+        private void checkForComodification() {
+            if (CustomArrayListImplementation.this.modCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        private void checkPositionIndex(final int index) {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+        }
     }
 
     private class CustomListIterator extends CustomSimpleIterator implements ListIterator<T> {
@@ -259,6 +1097,7 @@ public class CustomArrayListImplementation<T> implements List<T> {
 
         @Override
         public T previous() {
+            checkForComodification(expectedModCount);
             int i = currentPosition - 1;
             if (i < 0) {
                 throw new NoSuchElementException();
@@ -283,16 +1122,22 @@ public class CustomArrayListImplementation<T> implements List<T> {
 
         @Override
         public void set(T t) {
+            if (lastReturnedIdx < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification(expectedModCount);
             CustomArrayListImplementation.this.set(lastReturnedIdx, t);
         }
 
         @Override
         public void add(T t) {
+            checkForComodification(expectedModCount);
             try {
                 int i = currentPosition;
                 CustomArrayListImplementation.this.add(i, t);
                 currentPosition = i + 1;
                 lastReturnedIdx = -1;
+                expectedModCount = modCount;
             } catch (IndexOutOfBoundsException ex) {
                 throw new ConcurrentModificationException();
             }
@@ -303,6 +1148,7 @@ public class CustomArrayListImplementation<T> implements List<T> {
 
         int currentPosition;
         int lastReturnedIdx = -1;
+        int expectedModCount = modCount;
 
         CustomSimpleIterator() {
         }
@@ -314,6 +1160,10 @@ public class CustomArrayListImplementation<T> implements List<T> {
 
         @Override
         public T next() {
+            checkForComodification(expectedModCount);
+            if (currentPosition >= size) {
+                throw new NoSuchElementException();
+            }
             final T result = (T) elements[currentPosition];
             lastReturnedIdx = currentPosition;
             currentPosition += 1;
@@ -322,10 +1172,15 @@ public class CustomArrayListImplementation<T> implements List<T> {
 
         @Override
         public void remove() {
+            if (lastReturnedIdx < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification(expectedModCount);
             try {
                 CustomArrayListImplementation.this.remove(lastReturnedIdx);
                 currentPosition = lastReturnedIdx;
                 lastReturnedIdx = -1;
+                expectedModCount = modCount;
             } catch (IndexOutOfBoundsException ex) {
                 throw new ConcurrentModificationException();
             }
@@ -340,12 +1195,92 @@ public class CustomArrayListImplementation<T> implements List<T> {
                 if (i >= elements.length)
                     throw new ConcurrentModificationException();
 
-                for (; i < size; i++)
+                for (; modCount == expectedModCount && i < size; i++)
                     action.accept((T) elements[i]);
 
                 currentPosition = i;
                 lastReturnedIdx = i - 1;
+                checkForComodification(expectedModCount);
             }
         }
     }
+
+    /**
+     * Array based spliterator, which splits range in halves and knows exact size of every part,
+     * so parallel streams get balanced tasks.
+     * Binds to the list on first use, so modifications made before traversal are visible.
+     */
+    private class CustomSpliterator implements Spliterator<T> {
+
+        private int index;
+        // -1 until first use
+        private int fence;
+        private int expectedModCount;
+
+        CustomSpliterator(final int origin, final int fence, final int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int getFence() {
+            int hi = fence;
+            if (hi < 0) {
+                expectedModCount = modCount;
+                hi = fence = size;
+            }
+            return hi;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final int hi = getFence();
+            final int lo = index;
+            final int mid = (lo + hi) >>> 1;
+            if (lo >= mid) {
+                return null;
+            }
+            index = mid;
+            return new CustomSpliterator(lo, mid, expectedModCount);
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            final int hi = getFence();
+            final int i = index;
+            if (i < hi) {
+                index = i + 1;
+                action.accept((T) elements[i]);
+                checkForComodification(expectedModCount);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            final int hi = getFence();
+            final Object[] es = elements;
+            if (hi > es.length) {
+                throw new ConcurrentModificationException();
+            }
+            for (int i = index; i < hi; i++) {
+                action.accept((T) es[i]);
+            }
+            index = hi;
+            checkForComodification(expectedModCount);
+        }
+
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package ru.otus.collection;
+
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+/**
+ * Builds {@link CustomArrayListImplementation} from streams without the intermediate list
+ * of {@code collect(toList())} followed by {@code addAll}, which copies elements twice more.
+ */
+public final class CustomCollectors {
+
+    private CustomCollectors() {
+    }
+
+    /**
+     * Collector which accumulates elements in chunks. Every thread of a parallel stream fills its own chain
+     * of chunks, and partial results are combined by linking chains in O(1), so combining costs
+     * O(chunks) overall. Elements are copied once, into the backing array of the result.
+     */
+    public static <T> Collector<T, ?, CustomArrayListImplementation<T>> toCustomList() {
+        return Collector.of(ChunkedAccumulator<T>::new, ChunkedAccumulator::add, ChunkedAccumulator::combine,
+                ChunkedAccumulator::toList);
+    }
+
+    /**
+     * Collect stream into a list which takes array of {@link Stream#toArray()} as its backing array.
+     * When the pipeline knows its exact size (SIZED source without filtering), parallel workers write straight
+     * into their slices of that array and no copy is made at all. Otherwise the JDK buffers elements on its own,
+     * not with the chunks of {@link #toCustomList()}: a sequential stream fills a spined buffer, a parallel one
+     * builds a tree of per-worker nodes, and either is flattened into the result array with one more copy.
+     */
+    public static <T> CustomArrayListImplementation<T> toCustomList(final Stream<? extends T> stream) {
+        final Object[] elements = stream.toArray();
+        return CustomArrayListImplementation.adopt(elements, elements.length);
+    }
+
+    private static final class ChunkedAccumulator<T> {
+
+        private static final int MIN_CHUNK = 16;
+        private static final int MAX_CHUNK = 1 << 16;
+
+        // chain of full chunks, current one is not in the chain yet
+        private Chunk head;
+        private Chunk tail;
+        private Object[] current;
+        private int currentCount;
+        private long size;
+
+        void add(final T element) {
+            if (current == null || currentCount == current.length) {
+                seal();
+                // chunks grow with accumulated size, so small results take few allocations and large ones few links
+                current = new Object[(int) Math.min(MAX_CHUNK, Math.max(MIN_CHUNK, size))];
+            }
+            current[currentCount++] = element;
+            size++;
+        }
+
+        ChunkedAccumulator<T> combine(final ChunkedAccumulator<T> other) {
+            if (other.size == 0) {
+                return this;
+            }
+            seal();
+            other.seal();
+            if (head == null) {
+                head = other.head;
+            } else {
+                tail.next = other.head;
+            }
+            tail = other.tail;
+            size += other.size;
+            return this;
+        }
+
+        CustomArrayListImplementation<T> toList() {
+            if (head == null) {
+                // single chunk is taken as is
+                return CustomArrayListImplementation.adopt(current == null ? new Object[0] : current, currentCount);
+            }
+            if (size > GrowthPolicy.MAX_ARRAY_SIZE) {
+                throw new OutOfMemoryError("Required array size too large: " + size);
+            }
+            final Object[] elements = new Object[(int) size];
+            int position = 0;
+            for (Chunk chunk = head; chunk != null; chunk = chunk.next) {
+                System.arraycopy(chunk.elements, 0, elements, position, chunk.length);
+                position += chunk.length;
+            }
+            if (current != null) {
+                System.arraycopy(current, 0, elements, position, currentCount);
+            }
+            return CustomArrayListImplementation.adopt(elements, elements.length);
+        }
+
+        private void seal() {
+            if (current == null || currentCount == 0) {
+                return;
+            }
+            final Chunk chunk = new Chunk(current, currentCount);
+            if (head == null) {
+                head = chunk;
+            } else {
+                tail.next = chunk;
+            }
+            tail = chunk;
+            current = null;
+            currentCount = 0;
+        }
+    }
+
+    private static final class Chunk {
+
+        private final Object[] elements;
+        private final int length;
+        private Chunk next;
+
+        Chunk(final Object[] elements, final int length) {
+            this.elements = elements;
+            this.length = length;
+        }
+    }
+}
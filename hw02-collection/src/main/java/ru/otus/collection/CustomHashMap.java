@@ -0,0 +1,224 @@
+package ru.otus.collection;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Hash map with open addressing: keys and values are kept in two parallel arrays and found by linear probing,
+ * so there is no node object per entry as in {@link java.util.HashMap}. An entry costs two array slots,
+ * about 13 bytes with compressed oops at the default load factor, against about 40 bytes in HashMap,
+ * and a lookup reads neighbouring slots instead of following node references.
+ * <p>
+ * Null keys and values are allowed. Iteration order is unspecified.
+ */
+public class CustomHashMap<K, V> extends AbstractMap<K, V> {
+
+    private final OpenHashTable table;
+    private Set<Entry<K, V>> entrySet;
+
+    public CustomHashMap() {
+        this(0, GrowthPolicy.doubling(), OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    public CustomHashMap(final int expectedSize) {
+        this(expectedSize, GrowthPolicy.doubling(), OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    public CustomHashMap(final GrowthPolicy growthPolicy) {
+        this(0, growthPolicy, OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize entries which fit without a resize
+     * @param growthPolicy how much the table grows, result is rounded up to a power of two
+     * @param loadFactor   share of occupied slots which triggers growth, in (0, 1)
+     */
+    public CustomHashMap(final int expectedSize, final GrowthPolicy growthPolicy, final float loadFactor) {
+        this.table = new OpenHashTable(expectedSize, growthPolicy, loadFactor, true);
+    }
+
+    public CustomHashMap(final Map<? extends K, ? extends V> m) {
+        this(m.size());
+        putAll(m);
+    }
+
+    @Override
+    public int size() {
+        return table.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.size == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return table.find(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+        final Object[] keys = table.keys;
+        final Object[] values = table.values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && Objects.equals(value, values[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final int slot = table.find(key);
+        return slot >= 0 ? (V) table.values[slot] : null;
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        final int slot = table.find(key);
+        return slot >= 0 ? (V) table.values[slot] : defaultValue;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final int size = table.size;
+        final int slot = table.insert(key);
+        final V oldValue = size == table.size ? (V) table.values[slot] : null;
+        table.values[slot] = value;
+        return oldValue;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final int slot = table.find(key);
+        if (slot < 0) {
+            return null;
+        }
+        final V oldValue = (V) table.values[slot];
+        table.removeAt(slot);
+        return oldValue;
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = table.modCount;
+        final Object[] keys = table.keys;
+        final Object[] values = table.values;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                action.accept((K) OpenHashTable.unmask(keys[i]), (V) values[i]);
+            }
+        }
+        if (table.modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * @return length of the key and value arrays
+     */
+    public int capacity() {
+        return table.capacity();
+    }
+
+    public void trimToSize() {
+        table.trimToSize();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return table.size;
+        }
+
+        @Override
+        public void clear() {
+            table.clear();
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) o;
+            final int slot = table.find(entry.getKey());
+            return slot >= 0 && Objects.equals(table.values[slot], entry.getValue());
+        }
+
+        @Override
+        public boolean remove(final Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            CustomHashMap.this.remove(((Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            final OpenHashTable.Cursor cursor = table.new Cursor();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return cursor.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    cursor.advance();
+                    return new MapEntry((K) cursor.key(), (V) cursor.value());
+                }
+
+                @Override
+                public void remove() {
+                    cursor.remove();
+                }
+            };
+        }
+    }
+
+    /**
+     * Copy of an entry, setValue writes through to the map.
+     */
+    private final class MapEntry extends SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        MapEntry(final K key, final V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(final V value) {
+            final int slot = table.find(getKey());
+            if (slot >= 0) {
+                table.values[slot] = value;
+            }
+            return super.setValue(value);
+        }
+    }
+}
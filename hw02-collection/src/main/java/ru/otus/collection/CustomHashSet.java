@@ -0,0 +1,129 @@
+package ru.otus.collection;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Hash set with open addressing over a single key array, see {@link CustomHashMap}.
+ * Unlike {@link java.util.HashSet} it keeps no map and no nodes behind it, one array slot per element.
+ * <p>
+ * Null element is allowed. Iteration order is unspecified.
+ */
+public class CustomHashSet<E> extends AbstractSet<E> {
+
+    private final OpenHashTable table;
+
+    public CustomHashSet() {
+        this(0, GrowthPolicy.doubling(), OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    public CustomHashSet(final int expectedSize) {
+        this(expectedSize, GrowthPolicy.doubling(), OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    public CustomHashSet(final GrowthPolicy growthPolicy) {
+        this(0, growthPolicy, OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize elements which fit without a resize
+     * @param growthPolicy how much the table grows, result is rounded up to a power of two
+     * @param loadFactor   share of occupied slots which triggers growth, in (0, 1)
+     */
+    public CustomHashSet(final int expectedSize, final GrowthPolicy growthPolicy, final float loadFactor) {
+        this.table = new OpenHashTable(expectedSize, growthPolicy, loadFactor, false);
+    }
+
+    public CustomHashSet(final Collection<? extends E> c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    @Override
+    public int size() {
+        return table.size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return table.size == 0;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return table.find(o) >= 0;
+    }
+
+    @Override
+    public boolean add(final E e) {
+        final int size = table.size;
+        table.insert(e);
+        return table.size != size;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        final int slot = table.find(o);
+        if (slot < 0) {
+            return false;
+        }
+        table.removeAt(slot);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        table.clear();
+    }
+
+    @Override
+    public void forEach(final Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = table.modCount;
+        for (Object key : table.keys) {
+            if (key != null) {
+                action.accept((E) OpenHashTable.unmask(key));
+            }
+        }
+        if (table.modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * @return length of the key array
+     */
+    public int capacity() {
+        return table.capacity();
+    }
+
+    public void trimToSize() {
+        table.trimToSize();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        final OpenHashTable.Cursor cursor = table.new Cursor();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.hasNext();
+            }
+
+            @Override
+            public E next() {
+                cursor.advance();
+                return (E) cursor.key();
+            }
+
+            @Override
+            public void remove() {
+                cursor.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package ru.otus.collection;
+
+/**
+ * Adds constant number of slots. Appends cost O(n) each in the long run,
+ * so use it only when final size is known to be small.
+ */
+public class FixedStepGrowthPolicy implements GrowthPolicy {
+
+    private final int step;
+
+    public FixedStepGrowthPolicy(final int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("Growth step must be positive, but was " + step);
+        }
+        this.step = step;
+    }
+
+    @Override
+    public int newCapacity(final int currentCapacity, final int minCapacity) {
+        return GrowthPolicy.clamp((long) currentCapacity + step, minCapacity);
+    }
+
+    @Override
+    public String toString() {
+        return "FixedStepGrowthPolicy{step=" + step + '}';
+    }
+}
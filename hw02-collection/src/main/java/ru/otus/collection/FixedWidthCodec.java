@@ -0,0 +1,31 @@
+package ru.otus.collection;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts element to a record of fixed number of bytes and back.
+ * Codec uses only absolute get/put methods of the buffer, so position and limit of it are never changed.
+ */
+public interface FixedWidthCodec<T> {
+
+    /**
+     * @return number of bytes in every record
+     */
+    int width();
+
+    void encode(T value, ByteBuffer target, int offset);
+
+    T decode(ByteBuffer source, int offset);
+
+    static FixedWidthCodec<Integer> ints() {
+        return PrimitiveCodec.INT;
+    }
+
+    static FixedWidthCodec<Long> longs() {
+        return PrimitiveCodec.LONG;
+    }
+
+    static FixedWidthCodec<Double> doubles() {
+        return PrimitiveCodec.DOUBLE;
+    }
+}
@@ -0,0 +1,326 @@
+package ru.otus.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Array list which keeps free space (gap) at the position of the last edit instead of at the end.
+ * <p>
+ * Insert or remove moves the gap to the edited position first, which costs the distance from the previous edit.
+ * So a pass with {@link ListIterator#add} / {@link Iterator#remove} over the whole list is O(n) in total,
+ * not O(n^2) as in {@link CustomArrayListImplementation}. Edits far apart cost the same as in a usual array list.
+ */
+public class GapBufferList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int DEFAULT_SIZE = 16;
+
+    private final GrowthPolicy growthPolicy;
+    private Object[] buffer;
+    // elements are stored in [0, gapStart) and [gapEnd, buffer.length)
+    private int gapStart;
+    private int gapEnd;
+
+    public GapBufferList() {
+        this(DEFAULT_SIZE, GrowthPolicy.defaultPolicy());
+    }
+
+    public GapBufferList(final int initialCapacity, final GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.buffer = new Object[initialCapacity];
+        this.gapStart = 0;
+        this.gapEnd = initialCapacity;
+    }
+
+    public GapBufferList(final Collection<? extends T> c) {
+        this(Math.max(c.size(), DEFAULT_SIZE), GrowthPolicy.defaultPolicy());
+        addAll(c);
+    }
+
+    private int gapLength() {
+        return gapEnd - gapStart;
+    }
+
+    private int physical(final int index) {
+        return index < gapStart ? index : index + gapLength();
+    }
+
+    @Override
+    public int size() {
+        return buffer.length - gapLength();
+    }
+
+    @Override
+    public T get(final int index) {
+        Objects.checkIndex(index, size());
+        return (T) buffer[physical(index)];
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        Objects.checkIndex(index, size());
+        final int i = physical(index);
+        final T oldValue = (T) buffer[i];
+        buffer[i] = element;
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(final T element) {
+        add(size(), element);
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        checkPositionIndex(index);
+        ensureGap(1);
+        moveGap(index);
+        buffer[gapStart++] = element;
+        modCount++;
+    }
+
+    @Override
+    public T remove(final int index) {
+        Objects.checkIndex(index, size());
+        moveGap(index);
+        final T oldValue = (T) buffer[gapEnd];
+        buffer[gapEnd++] = null;
+        modCount++;
+        return oldValue;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> c) {
+        return addAll(size(), c);
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends T> c) {
+        checkPositionIndex(index);
+        final Object[] added = c.toArray();
+        if (added.length == 0) {
+            // nothing to do
+            return false;
+        }
+        ensureGap(added.length);
+        moveGap(index);
+        System.arraycopy(added, 0, buffer, gapStart, added.length);
+        gapStart += added.length;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(buffer, null);
+        gapStart = 0;
+        gapEnd = buffer.length;
+        modCount++;
+    }
+
+    /**
+     * Removed range just becomes a part of the gap.
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        moveGap(fromIndex);
+        final int newGapEnd = gapEnd + (toIndex - fromIndex);
+        Arrays.fill(buffer, gapEnd, newGapEnd, null);
+        gapEnd = newGapEnd;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        final Object[] result = new Object[size()];
+        System.arraycopy(buffer, 0, result, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, result, gapStart, buffer.length - gapEnd);
+        return result;
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        final Object[] es = buffer;
+        for (int i = 0, end = gapStart; i < end; i++) {
+            action.accept((T) es[i]);
+        }
+        for (int i = gapEnd, end = es.length; i < end; i++) {
+            action.accept((T) es[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new GapListIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return new GapListIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        checkPositionIndex(index);
+        return new GapListIterator(index);
+    }
+
+    public void trimToSize() {
+        if (gapLength() > 0) {
+            buffer = toArray();
+            gapStart = gapEnd = buffer.length;
+        }
+    }
+
+    private void ensureGap(final int required) {
+        if (gapLength() >= required) {
+            return;
+        }
+        final int size = size();
+        final int minCapacity = size + required;
+        if (minCapacity < 0) {
+            // int overflow of size + additional elements count
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        final int newCapacity = buffer.length == 0
+                ? Math.max(minCapacity, DEFAULT_SIZE)
+                : Math.max(growthPolicy.newCapacity(buffer.length, minCapacity), minCapacity);
+        final Object[] newBuffer = new Object[newCapacity];
+        final int tailLength = buffer.length - gapEnd;
+        System.arraycopy(buffer, 0, newBuffer, 0, gapStart);
+        System.arraycopy(buffer, gapEnd, newBuffer, newCapacity - tailLength, tailLength);
+        buffer = newBuffer;
+        gapEnd = newCapacity - tailLength;
+    }
+
+    /**
+     * Move the gap, so it starts at index. Costs O(distance between index and current gap position).
+     */
+    private void moveGap(final int index) {
+        final int gapLength = gapLength();
+        if (index < gapStart) {
+            final int moved = gapStart - index;
+            System.arraycopy(buffer, index, buffer, gapEnd - moved, moved);
+            // scrub slots which became a part of the gap
+            Arrays.fill(buffer, index, Math.min(gapStart, index + gapLength), null);
+        } else if (index > gapStart) {
+            final int moved = index - gapStart;
+            System.arraycopy(buffer, gapEnd, buffer, gapStart, moved);
+            Arrays.fill(buffer, Math.max(gapEnd, index), gapEnd + moved, null);
+        }
+        gapStart = index;
+        gapEnd = index + gapLength;
+    }
+
+    private void checkPositionIndex(final int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private class GapListIterator implements ListIterator<T> {
+
+        int currentPosition;
+        int lastReturnedIdx = -1;
+        int expectedModCount = modCount;
+
+        GapListIterator(final int index) {
+            currentPosition = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentPosition < size();
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (currentPosition >= size()) {
+                throw new NoSuchElementException();
+            }
+            lastReturnedIdx = currentPosition;
+            return (T) buffer[physical(currentPosition++)];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return currentPosition > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (currentPosition <= 0) {
+                throw new NoSuchElementException();
+            }
+            lastReturnedIdx = --currentPosition;
+            return (T) buffer[physical(currentPosition)];
+        }
+
+        @Override
+        public int nextIndex() {
+            return currentPosition;
+        }
+
+        @Override
+        public int previousIndex() {
+            return currentPosition - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedIdx < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            GapBufferList.this.remove(lastReturnedIdx);
+            currentPosition = lastReturnedIdx;
+            lastReturnedIdx = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(final T t) {
+            if (lastReturnedIdx < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            GapBufferList.this.set(lastReturnedIdx, t);
+        }
+
+        @Override
+        public void add(final T t) {
+            checkForComodification();
+            GapBufferList.this.add(currentPosition, t);
+            currentPosition++;
+            lastReturnedIdx = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
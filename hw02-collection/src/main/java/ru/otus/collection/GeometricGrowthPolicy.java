@@ -0,0 +1,26 @@
+package ru.otus.collection;
+
+/**
+ * Multiplies capacity by constant factor, so sequence of appends costs amortized O(1).
+ */
+public class GeometricGrowthPolicy implements GrowthPolicy {
+
+    private final double factor;
+
+    public GeometricGrowthPolicy(final double factor) {
+        if (!(factor > 1.0)) {
+            throw new IllegalArgumentException("Growth factor must be greater than 1, but was " + factor);
+        }
+        this.factor = factor;
+    }
+
+    @Override
+    public int newCapacity(final int currentCapacity, final int minCapacity) {
+        return GrowthPolicy.clamp((long) (currentCapacity * factor), minCapacity);
+    }
+
+    @Override
+    public String toString() {
+        return "GeometricGrowthPolicy{factor=" + factor + '}';
+    }
+}
@@ -0,0 +1,59 @@
+package ru.otus.collection;
+
+/**
+ * Strategy which decides how much backing storage grows when it's full.
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /**
+     * Some VMs reserve header words in an array, so larger arrays may fail to allocate.
+     */
+    int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /**
+     * Calculate new capacity of backing storage.
+     *
+     * @param currentCapacity current length of backing storage
+     * @param minCapacity     required capacity, always greater than currentCapacity
+     * @return new capacity which is not less than minCapacity
+     */
+    int newCapacity(int currentCapacity, int minCapacity);
+
+    static GrowthPolicy defaultPolicy() {
+        return oneAndHalf();
+    }
+
+    static GrowthPolicy oneAndHalf() {
+        return new GeometricGrowthPolicy(1.5);
+    }
+
+    static GrowthPolicy doubling() {
+        return new GeometricGrowthPolicy(2.0);
+    }
+
+    static GrowthPolicy geometric(final double factor) {
+        return new GeometricGrowthPolicy(factor);
+    }
+
+    static GrowthPolicy fixedStep(final int step) {
+        return new FixedStepGrowthPolicy(step);
+    }
+
+    static GrowthPolicy cappedChunk(final double factor, final int maxChunk) {
+        return new CappedChunkGrowthPolicy(factor, maxChunk);
+    }
+
+    /**
+     * Bring desired capacity into [minCapacity, MAX_ARRAY_SIZE] range, taking int overflow into account.
+     */
+    static int clamp(final long desiredCapacity, final int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("Required array size too large: " + Integer.toUnsignedString(minCapacity));
+        }
+        if (desiredCapacity <= minCapacity) {
+            return minCapacity;
+        }
+        return (int) Math.min(desiredCapacity, MAX_ARRAY_SIZE);
+    }
+}
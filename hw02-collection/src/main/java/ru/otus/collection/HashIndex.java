@@ -0,0 +1,252 @@
+package ru.otus.collection;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing multimap from element to its positions in a list, see
+ * {@link CustomArrayListImplementation#enableHashIndex()}.
+ * <p>
+ * The table holds one entry per distinct element with linear probing, so equal elements never form
+ * a probe cluster: a lookup costs O(1) on average however many duplicates there are. An element at a single
+ * position keeps it inline, duplicates keep their positions in a sorted int array, where first and last
+ * are its ends. Entries are deleted by backward shift, so there are no tombstones and load factor
+ * stays at most 1/2.
+ */
+final class HashIndex {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int NOT_FOUND_IDX = -1;
+    // stands for null element, since null marks an empty slot
+    private static final Object NULL_KEY = new Object();
+
+    private Object[] keys;
+    private int[] hashes;
+    // number of positions of the element
+    private int[] counts;
+    // the only position, when count is 1
+    private int[] single;
+    // sorted positions, when count is more than 1
+    private int[][] multiple;
+    private int mask;
+    private int distinct;
+    // slots visited by probing, lets tests check that the cost stays bounded
+    private long probes;
+
+    HashIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    static int hash(final Object o) {
+        final int h = o == null ? 0 : o.hashCode() * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    void rebuild(final Object[] elements, final int size) {
+        // previous number of distinct elements is a good guess for the new one
+        allocate(capacityFor(Math.min(distinct, size)));
+        for (int i = 0; i < size; i++) {
+            insert(elements[i], i);
+        }
+    }
+
+    void insert(final Object element, final int position) {
+        final int h = hash(element);
+        final int slot = find(element, h);
+        if (slot >= 0) {
+            addPosition(slot, position);
+            return;
+        }
+        final int free = -slot - 1;
+        keys[free] = element == null ? NULL_KEY : element;
+        hashes[free] = h;
+        counts[free] = 1;
+        single[free] = position;
+        if (++distinct * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+    }
+
+    void delete(final Object element, final int position) {
+        final int slot = find(element, hash(element));
+        final int count = counts[slot];
+        if (count == 1) {
+            deleteSlot(slot);
+            return;
+        }
+        final int[] positions = multiple[slot];
+        final int i = indexOfPosition(positions, count, position);
+        System.arraycopy(positions, i + 1, positions, i, count - 1 - i);
+        counts[slot] = count - 1;
+        if (count == 2) {
+            // back to inline position
+            single[slot] = positions[0];
+            multiple[slot] = null;
+        }
+    }
+
+    /**
+     * Element moved to another position. Shifts move every following position by one in the same direction,
+     * so the position is usually replaced in place and positions of the element stay sorted.
+     */
+    void move(final Object element, final int from, final int to) {
+        final int slot = find(element, hash(element));
+        final int count = counts[slot];
+        if (count == 1) {
+            single[slot] = to;
+            return;
+        }
+        final int[] positions = multiple[slot];
+        final int i = indexOfPosition(positions, count, from);
+        if ((i == 0 || positions[i - 1] < to) && (i == count - 1 || to < positions[i + 1])) {
+            positions[i] = to;
+        } else {
+            System.arraycopy(positions, i + 1, positions, i, count - 1 - i);
+            counts[slot] = count - 1;
+            // addPosition expects the inline form for a single position
+            single[slot] = positions[0];
+            addPosition(slot, to);
+        }
+    }
+
+    void replace(final Object oldElement, final Object newElement, final int position) {
+        if (oldElement == newElement || oldElement != null && oldElement.equals(newElement)) {
+            // same entry is still right
+            return;
+        }
+        delete(oldElement, position);
+        insert(newElement, position);
+    }
+
+    int first(final Object o) {
+        final int slot = find(o, hash(o));
+        if (slot < 0) {
+            return NOT_FOUND_IDX;
+        }
+        return counts[slot] == 1 ? single[slot] : multiple[slot][0];
+    }
+
+    int last(final Object o) {
+        final int slot = find(o, hash(o));
+        if (slot < 0) {
+            return NOT_FOUND_IDX;
+        }
+        return counts[slot] == 1 ? single[slot] : multiple[slot][counts[slot] - 1];
+    }
+
+    long probes() {
+        return probes;
+    }
+
+    /**
+     * @return slot of the element, or -(free slot) - 1 where it would be inserted
+     */
+    private int find(final Object o, final int h) {
+        final Object k = o == null ? NULL_KEY : o;
+        int i = h & mask;
+        Object key;
+        while ((key = keys[i]) != null) {
+            probes++;
+            if (hashes[i] == h && (key == k || k.equals(key))) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    private void addPosition(final int slot, final int position) {
+        final int count = counts[slot];
+        int[] positions = multiple[slot];
+        if (count == 1) {
+            positions = new int[4];
+            positions[0] = single[slot];
+            multiple[slot] = positions;
+        } else if (count == positions.length) {
+            positions = Arrays.copyOf(positions, count * 2);
+            multiple[slot] = positions;
+        }
+        if (positions[count - 1] < position) {
+            // appends and rebuild come in ascending order
+            positions[count] = position;
+        } else {
+            final int i = -Arrays.binarySearch(positions, 0, count, position) - 1;
+            System.arraycopy(positions, i, positions, i + 1, count - i);
+            positions[i] = position;
+        }
+        counts[slot] = count + 1;
+    }
+
+    private static int indexOfPosition(final int[] positions, final int count, final int position) {
+        // updates happen close to the end of the list
+        return positions[count - 1] == position ? count - 1 : Arrays.binarySearch(positions, 0, count, position);
+    }
+
+    /**
+     * Delete entry and shift following entries of its cluster back into the hole.
+     */
+    private void deleteSlot(final int slot) {
+        int hole = slot;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            if (keys[j] == null) {
+                break;
+            }
+            final int home = hashes[j] & mask;
+            final boolean staysInPlace = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+            if (!staysInPlace) {
+                copySlot(j, hole);
+                hole = j;
+            }
+        }
+        keys[hole] = null;
+        multiple[hole] = null;
+        distinct--;
+    }
+
+    private void copySlot(final int from, final int to) {
+        keys[to] = keys[from];
+        hashes[to] = hashes[from];
+        counts[to] = counts[from];
+        single[to] = single[from];
+        multiple[to] = multiple[from];
+    }
+
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        counts = new int[capacity];
+        single = new int[capacity];
+        multiple = new int[capacity][];
+        mask = capacity - 1;
+        distinct = 0;
+    }
+
+    private void resize(final int capacity) {
+        final Object[] oldKeys = keys;
+        final int[] oldHashes = hashes;
+        final int[] oldCounts = counts;
+        final int[] oldSingle = single;
+        final int[][] oldMultiple = multiple;
+        final int oldDistinct = distinct;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int j = oldHashes[i] & mask;
+                while (keys[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                hashes[j] = oldHashes[i];
+                counts[j] = oldCounts[i];
+                single[j] = oldSingle[i];
+                multiple[j] = oldMultiple[i];
+            }
+        }
+        distinct = oldDistinct;
+    }
+
+    private static int capacityFor(final int distinct) {
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(distinct, 1) * 2 - 1) << 1);
+    }
+}
@@ -0,0 +1,314 @@
+package ru.otus.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Sibling of {@link CustomArrayListImplementation} backed by int[], so values are never boxed.
+ */
+public class IntList extends AbstractPrimitiveList {
+
+    private static final int[] EMPTY_ARRAY = {};
+
+    private int[] elements;
+
+    public IntList() {
+        this(GrowthPolicy.defaultPolicy());
+    }
+
+    public IntList(final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+        this.elements = EMPTY_ARRAY;
+    }
+
+    public IntList(final int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.defaultPolicy());
+    }
+
+    public IntList(final int initialCapacity, final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = initialCapacity == 0 ? EMPTY_ARRAY : new int[initialCapacity];
+    }
+
+    public static IntList of(final int... values) {
+        final IntList list = new IntList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    @Override
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    protected void resize(final int newCapacity) {
+        elements = newCapacity == 0 ? EMPTY_ARRAY : Arrays.copyOf(elements, newCapacity);
+    }
+
+    public boolean add(final int value) {
+        if (size == elements.length) {
+            growArray(size + 1);
+        }
+        elements[size] = value;
+        size += 1;
+        return true;
+    }
+
+    public void add(final int index, final int value) {
+        checkPositionIndex(index);
+        if (size == elements.length) {
+            growArray(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size += 1;
+    }
+
+    public boolean addAll(final int... values) {
+        if (values.length == 0) {
+            // nothing to do
+            return false;
+        }
+        if (values.length > elements.length - size) {
+            growArray(size + values.length);
+        }
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+        return true;
+    }
+
+    public boolean addAll(final IntList other) {
+        return addAll(size, other);
+    }
+
+    public boolean addAll(final int index, final IntList other) {
+        checkPositionIndex(index);
+        final int additionalSize = other.size;
+        if (additionalSize == 0) {
+            // nothing to do
+            return false;
+        }
+        if (additionalSize > elements.length - size) {
+            growArray(size + additionalSize);
+        }
+        // other may be this list, so take its elements before the shift
+        final int[] source = other == this ? toArray() : other.elements;
+        System.arraycopy(elements, index, elements, index + additionalSize, size - index);
+        System.arraycopy(source, 0, elements, index, additionalSize);
+        size += additionalSize;
+        return true;
+    }
+
+    public int get(final int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    public int set(final int index, final int value) {
+        Objects.checkIndex(index, size);
+        final int oldValue = elements[index];
+        elements[index] = value;
+        return oldValue;
+    }
+
+    public int removeAt(final int index) {
+        Objects.checkIndex(index, size);
+        final int oldValue = elements[index];
+        final int newSize = size - 1;
+        if (index < newSize) {
+            System.arraycopy(elements, index + 1, elements, index, newSize - index);
+        }
+        size = newSize;
+        return oldValue;
+    }
+
+    public boolean removeValue(final int value) {
+        final int index = indexOf(value);
+        if (index == NOT_FOUND_IDX) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    public int indexOf(final int value) {
+        final int[] es = elements;
+        for (int i = 0, end = size; i < end; i++) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    public int lastIndexOf(final int value) {
+        final int[] es = elements;
+        for (int i = size - 1; i >= 0; i--) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    public boolean contains(final int value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Sort in ascending order in place. Large lists are sorted by LSD radix sort in O(n).
+     */
+    public void sort() {
+        RadixSort.sort(elements, 0, size);
+    }
+
+    /**
+     * Write values in compact binary format, see {@link #readFrom}. Values go to the channel
+     * by bulk copies of the backing array. Channel is not closed.
+     *
+     * @param compress deflate values chunk by chunk
+     */
+    public void writeTo(final WritableByteChannel channel, final boolean compress) throws IOException {
+        final BinaryListFormat.Writer writer = new BinaryListFormat.Writer(
+                channel, BinaryListFormat.TYPE_INT, Integer.BYTES, size, compress);
+        final ByteBuffer buffer = writer.buffer();
+        for (int written = 0; written < size; ) {
+            final int count = Math.min(size - written, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(elements, written, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            written += count;
+            writer.flush();
+        }
+        writer.finish();
+    }
+
+    /**
+     * Read list written by {@link #writeTo}, capacity of the list is taken from the header. Channel is not closed.
+     */
+    public static IntList readFrom(final ReadableByteChannel channel) throws IOException {
+        final BinaryListFormat.Reader reader = new BinaryListFormat.Reader(
+                channel, BinaryListFormat.TYPE_INT, Integer.BYTES);
+        final IntList list = new IntList(reader.size());
+        while (list.size < reader.size()) {
+            final ByteBuffer buffer = reader.next();
+            final int count = buffer.remaining() / Integer.BYTES;
+            buffer.asIntBuffer().get(list.elements, list.size, count);
+            buffer.position(buffer.limit());
+            list.size += count;
+        }
+        reader.finish();
+        return list;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Sum is accumulated in long, so it doesn't overflow for any list size.
+     */
+    public long sum() {
+        final int[] es = elements;
+        long sum = 0;
+        for (int i = 0, end = size; i < end; i++) {
+            sum += es[i];
+        }
+        return sum;
+    }
+
+    public void forEach(final IntConsumer action) {
+        Objects.requireNonNull(action);
+        final int[] es = elements;
+        for (int i = 0, end = size; i < end; i++) {
+            action.accept(es[i]);
+        }
+    }
+
+    public IntStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntListIterator();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IntList)) {
+            return false;
+        }
+        final IntList other = (IntList) o;
+        return Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < size; i++) {
+            hashCode = 31 * hashCode + Integer.hashCode(elements[i]);
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private class IntListIterator implements PrimitiveIterator.OfInt {
+
+        int currentPosition;
+        int lastReturnedIdx = -1;
+
+        @Override
+        public boolean hasNext() {
+            return currentPosition < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (currentPosition >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturnedIdx = currentPosition;
+            return elements[currentPosition++];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedIdx < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(lastReturnedIdx);
+            currentPosition = lastReturnedIdx;
+            lastReturnedIdx = -1;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+            Objects.requireNonNull(action);
+            final int[] es = elements;
+            int i = currentPosition;
+            for (final int end = size; i < end; i++) {
+                action.accept(es[i]);
+            }
+            currentPosition = i;
+            lastReturnedIdx = i - 1;
+        }
+    }
+}
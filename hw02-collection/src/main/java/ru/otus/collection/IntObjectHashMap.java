@@ -0,0 +1,229 @@
+package ru.otus.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Open addressing map from int to object, see {@link CustomHashMap}. Keys are kept in int[], so they are
+ * never boxed, and an entry takes 8 bytes of arrays with compressed oops before the load factor.
+ * <p>
+ * Zero marks an empty slot, so zero key is kept aside in a field.
+ */
+public class IntObjectHashMap<V> {
+
+    private final GrowthPolicy growthPolicy;
+    private final float loadFactor;
+    private int[] keys;
+    private Object[] values;
+    private int mask;
+    private int threshold;
+    // entries in the arrays, zero key is not counted
+    private int count;
+    private boolean hasZeroKey;
+    private V zeroValue;
+
+    public IntObjectHashMap() {
+        this(0, GrowthPolicy.doubling(), OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    public IntObjectHashMap(final int expectedSize) {
+        this(expectedSize, GrowthPolicy.doubling(), OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize entries which fit without a resize
+     * @param growthPolicy how much the table grows, result is rounded up to a power of two
+     * @param loadFactor   share of occupied slots which triggers growth, in (0, 1)
+     */
+    public IntObjectHashMap(final int expectedSize, final GrowthPolicy growthPolicy, final float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.loadFactor = OpenHashTable.checkLoadFactor(loadFactor);
+        allocate(OpenHashTable.capacityFor(expectedSize, loadFactor));
+    }
+
+    public int size() {
+        return hasZeroKey ? count + 1 : count;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(final int key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    /**
+     * @return value of the key, or null if there is no such key
+     */
+    public V get(final int key) {
+        return getOrDefault(key, null);
+    }
+
+    public V getOrDefault(final int key, final V defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        final int slot = find(key);
+        return slot >= 0 ? (V) values[slot] : defaultValue;
+    }
+
+    /**
+     * @return previous value of the key, or null if there was no such key
+     */
+    public V put(final int key, final V value) {
+        if (key == 0) {
+            final V oldValue = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return oldValue;
+        }
+        final int slot = find(key);
+        if (slot >= 0) {
+            final V oldValue = (V) values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+        keys[-slot - 1] = key;
+        values[-slot - 1] = value;
+        if (++count > threshold) {
+            resize(OpenHashTable.grownCapacity(growthPolicy, keys.length,
+                    OpenHashTable.capacityFor(count, loadFactor)));
+        }
+        return null;
+    }
+
+    /**
+     * @return removed value, or null if there was no such key
+     */
+    public V remove(final int key) {
+        if (key == 0) {
+            final V oldValue = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+            return oldValue;
+        }
+        final int slot = find(key);
+        if (slot < 0) {
+            return null;
+        }
+        final V oldValue = (V) values[slot];
+        removeAt(slot);
+        return oldValue;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(values, null);
+        count = 0;
+        hasZeroKey = false;
+        zeroValue = null;
+    }
+
+    public void forEach(final EntryConsumer<? super V> action) {
+        Objects.requireNonNull(action);
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], (V) values[i]);
+            }
+        }
+    }
+
+    public int[] keys() {
+        final int[] result = new int[size()];
+        int position = 0;
+        if (hasZeroKey) {
+            result[position++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[position++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return length of the key and value arrays
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public void trimToSize() {
+        final int capacity = OpenHashTable.capacityFor(count, loadFactor);
+        if (capacity < keys.length) {
+            resize(capacity);
+        }
+    }
+
+    private int find(final int key) {
+        int i = OpenHashTable.mix(key) & mask;
+        int current;
+        while ((current = keys[i]) != 0) {
+            if (current == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    private void removeAt(final int slot) {
+        int hole = slot;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            final int key = keys[j];
+            if (key == 0) {
+                break;
+            }
+            final int home = OpenHashTable.mix(key) & mask;
+            final boolean staysInPlace = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+            if (!staysInPlace) {
+                keys[hole] = key;
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = 0;
+        values[hole] = null;
+        count--;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        threshold = (int) Math.min(capacity - 1L, (long) (capacity * (double) loadFactor));
+    }
+
+    private void resize(final int capacity) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final int key = oldKeys[i];
+            if (key != 0) {
+                int j = OpenHashTable.mix(key) & mask;
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        void accept(int key, V value);
+    }
+}
@@ -0,0 +1,311 @@
+package ru.otus.collection;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+
+/**
+ * Sibling of {@link CustomArrayListImplementation} backed by long[], so values are never boxed.
+ */
+public class LongList extends AbstractPrimitiveList {
+
+    private static final long[] EMPTY_ARRAY = {};
+
+    private long[] elements;
+
+    public LongList() {
+        this(GrowthPolicy.defaultPolicy());
+    }
+
+    public LongList(final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+        this.elements = EMPTY_ARRAY;
+    }
+
+    public LongList(final int initialCapacity) {
+        this(initialCapacity, GrowthPolicy.defaultPolicy());
+    }
+
+    public LongList(final int initialCapacity, final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = initialCapacity == 0 ? EMPTY_ARRAY : new long[initialCapacity];
+    }
+
+    public static LongList of(final long... values) {
+        final LongList list = new LongList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    @Override
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    protected void resize(final int newCapacity) {
+        elements = newCapacity == 0 ? EMPTY_ARRAY : Arrays.copyOf(elements, newCapacity);
+    }
+
+    public boolean add(final long value) {
+        if (size == elements.length) {
+            growArray(size + 1);
+        }
+        elements[size] = value;
+        size += 1;
+        return true;
+    }
+
+    public void add(final int index, final long value) {
+        checkPositionIndex(index);
+        if (size == elements.length) {
+            growArray(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size += 1;
+    }
+
+    public boolean addAll(final long... values) {
+        if (values.length == 0) {
+            // nothing to do
+            return false;
+        }
+        if (values.length > elements.length - size) {
+            growArray(size + values.length);
+        }
+        System.arraycopy(values, 0, elements, size, values.length);
+        size += values.length;
+        return true;
+    }
+
+    public boolean addAll(final LongList other) {
+        return addAll(size, other);
+    }
+
+    public boolean addAll(final int index, final LongList other) {
+        checkPositionIndex(index);
+        final int additionalSize = other.size;
+        if (additionalSize == 0) {
+            // nothing to do
+            return false;
+        }
+        if (additionalSize > elements.length - size) {
+            growArray(size + additionalSize);
+        }
+        // other may be this list, so take its elements before the shift
+        final long[] source = other == this ? toArray() : other.elements;
+        System.arraycopy(elements, index, elements, index + additionalSize, size - index);
+        System.arraycopy(source, 0, elements, index, additionalSize);
+        size += additionalSize;
+        return true;
+    }
+
+    public long get(final int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    public long set(final int index, final long value) {
+        Objects.checkIndex(index, size);
+        final long oldValue = elements[index];
+        elements[index] = value;
+        return oldValue;
+    }
+
+    public long removeAt(final int index) {
+        Objects.checkIndex(index, size);
+        final long oldValue = elements[index];
+        final int newSize = size - 1;
+        if (index < newSize) {
+            System.arraycopy(elements, index + 1, elements, index, newSize - index);
+        }
+        size = newSize;
+        return oldValue;
+    }
+
+    public boolean removeValue(final long value) {
+        final int index = indexOf(value);
+        if (index == NOT_FOUND_IDX) {
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    public int indexOf(final long value) {
+        final long[] es = elements;
+        for (int i = 0, end = size; i < end; i++) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    public int lastIndexOf(final long value) {
+        final long[] es = elements;
+        for (int i = size - 1; i >= 0; i--) {
+            if (es[i] == value) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    public boolean contains(final long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /**
+     * Sort in ascending order in place. Large lists are sorted by LSD radix sort in O(n).
+     */
+    public void sort() {
+        RadixSort.sort(elements, 0, size);
+    }
+
+    /**
+     * Write values in compact binary format, see {@link #readFrom}. Values go to the channel
+     * by bulk copies of the backing array. Channel is not closed.
+     *
+     * @param compress deflate values chunk by chunk
+     */
+    public void writeTo(final WritableByteChannel channel, final boolean compress) throws IOException {
+        final BinaryListFormat.Writer writer = new BinaryListFormat.Writer(
+                channel, BinaryListFormat.TYPE_LONG, Long.BYTES, size, compress);
+        final ByteBuffer buffer = writer.buffer();
+        for (int written = 0; written < size; ) {
+            final int count = Math.min(size - written, buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().put(elements, written, count);
+            buffer.position(buffer.position() + count * Long.BYTES);
+            written += count;
+            writer.flush();
+        }
+        writer.finish();
+    }
+
+    /**
+     * Read list written by {@link #writeTo}, capacity of the list is taken from the header. Channel is not closed.
+     */
+    public static LongList readFrom(final ReadableByteChannel channel) throws IOException {
+        final BinaryListFormat.Reader reader = new BinaryListFormat.Reader(
+                channel, BinaryListFormat.TYPE_LONG, Long.BYTES);
+        final LongList list = new LongList(reader.size());
+        while (list.size < reader.size()) {
+            final ByteBuffer buffer = reader.next();
+            final int count = buffer.remaining() / Long.BYTES;
+            buffer.asLongBuffer().get(list.elements, list.size, count);
+            buffer.position(buffer.limit());
+            list.size += count;
+        }
+        reader.finish();
+        return list;
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public long sum() {
+        final long[] es = elements;
+        long sum = 0;
+        for (int i = 0, end = size; i < end; i++) {
+            sum += es[i];
+        }
+        return sum;
+    }
+
+    public void forEach(final LongConsumer action) {
+        Objects.requireNonNull(action);
+        final long[] es = elements;
+        for (int i = 0, end = size; i < end; i++) {
+            action.accept(es[i]);
+        }
+    }
+
+    public LongStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    public PrimitiveIterator.OfLong iterator() {
+        return new LongListIterator();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongList)) {
+            return false;
+        }
+        final LongList other = (LongList) o;
+        return Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int i = 0; i < size; i++) {
+            hashCode = 31 * hashCode + Long.hashCode(elements[i]);
+        }
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private class LongListIterator implements PrimitiveIterator.OfLong {
+
+        int currentPosition;
+        int lastReturnedIdx = -1;
+
+        @Override
+        public boolean hasNext() {
+            return currentPosition < size;
+        }
+
+        @Override
+        public long nextLong() {
+            if (currentPosition >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturnedIdx = currentPosition;
+            return elements[currentPosition++];
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedIdx < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(lastReturnedIdx);
+            currentPosition = lastReturnedIdx;
+            lastReturnedIdx = -1;
+        }
+
+        @Override
+        public void forEachRemaining(final LongConsumer action) {
+            Objects.requireNonNull(action);
+            final long[] es = elements;
+            int i = currentPosition;
+            for (final int end = size; i < end; i++) {
+                action.accept(es[i]);
+            }
+            currentPosition = i;
+            lastReturnedIdx = i - 1;
+        }
+    }
+}
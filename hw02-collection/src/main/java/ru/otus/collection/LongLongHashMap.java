@@ -0,0 +1,242 @@
+package ru.otus.collection;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Open addressing map from long to long, see {@link CustomHashMap}. Nothing is boxed, an entry takes
+ * 16 bytes of arrays before the load factor, so it suits counters and id mappings of millions of entries.
+ * <p>
+ * Zero marks an empty slot, so zero key is kept aside in fields.
+ */
+public class LongLongHashMap {
+
+    private final GrowthPolicy growthPolicy;
+    private final float loadFactor;
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int threshold;
+    // entries in the arrays, zero key is not counted
+    private int count;
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap() {
+        this(0, GrowthPolicy.doubling(), OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongLongHashMap(final int expectedSize) {
+        this(expectedSize, GrowthPolicy.doubling(), OpenHashTable.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param expectedSize entries which fit without a resize
+     * @param growthPolicy how much the table grows, result is rounded up to a power of two
+     * @param loadFactor   share of occupied slots which triggers growth, in (0, 1)
+     */
+    public LongLongHashMap(final int expectedSize, final GrowthPolicy growthPolicy, final float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.loadFactor = OpenHashTable.checkLoadFactor(loadFactor);
+        allocate(OpenHashTable.capacityFor(expectedSize, loadFactor));
+    }
+
+    public int size() {
+        return hasZeroKey ? count + 1 : count;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(final long key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    public long getOrDefault(final long key, final long defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        final int slot = find(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * @return previous value of the key, or 0 if there was no such key
+     */
+    public long put(final long key, final long value) {
+        if (key == 0) {
+            final long oldValue = zeroValue;
+            hasZeroKey = true;
+            zeroValue = value;
+            return oldValue;
+        }
+        final int slot = find(key);
+        if (slot >= 0) {
+            final long oldValue = values[slot];
+            values[slot] = value;
+            return oldValue;
+        }
+        insertAt(-slot - 1, key, value);
+        return 0;
+    }
+
+    /**
+     * Add delta to the value of the key, absent key counts as 0.
+     *
+     * @return new value
+     */
+    public long addTo(final long key, final long delta) {
+        if (key == 0) {
+            zeroValue = hasZeroKey ? zeroValue + delta : delta;
+            hasZeroKey = true;
+            return zeroValue;
+        }
+        final int slot = find(key);
+        if (slot >= 0) {
+            return values[slot] += delta;
+        }
+        insertAt(-slot - 1, key, delta);
+        return delta;
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    public boolean remove(final long key) {
+        if (key == 0) {
+            final boolean removed = hasZeroKey;
+            hasZeroKey = false;
+            zeroValue = 0;
+            return removed;
+        }
+        final int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        removeAt(slot);
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        count = 0;
+        hasZeroKey = false;
+        zeroValue = 0;
+    }
+
+    public void forEach(final EntryConsumer action) {
+        Objects.requireNonNull(action);
+        if (hasZeroKey) {
+            action.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                action.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public long[] keys() {
+        final long[] result = new long[size()];
+        int position = 0;
+        if (hasZeroKey) {
+            result[position++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[position++] = key;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return length of the key and value arrays
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    public void trimToSize() {
+        final int capacity = OpenHashTable.capacityFor(count, loadFactor);
+        if (capacity < keys.length) {
+            resize(capacity);
+        }
+    }
+
+    private int find(final long key) {
+        int i = OpenHashTable.mix(key) & mask;
+        long current;
+        while ((current = keys[i]) != 0) {
+            if (current == key) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    private void insertAt(final int slot, final long key, final long value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++count > threshold) {
+            resize(OpenHashTable.grownCapacity(growthPolicy, keys.length,
+                    OpenHashTable.capacityFor(count, loadFactor)));
+        }
+    }
+
+    private void removeAt(final int slot) {
+        int hole = slot;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            final long key = keys[j];
+            if (key == 0) {
+                break;
+            }
+            final int home = OpenHashTable.mix(key) & mask;
+            final boolean staysInPlace = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+            if (!staysInPlace) {
+                keys[hole] = key;
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = 0;
+        count--;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        threshold = (int) Math.min(capacity - 1L, (long) (capacity * (double) loadFactor));
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldKeys = keys;
+        final long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final long key = oldKeys[i];
+            if (key != 0) {
+                int j = OpenHashTable.mix(key) & mask;
+                while (keys[j] != 0) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+
+        void accept(long key, long value);
+    }
+}
@@ -0,0 +1,309 @@
+package ru.otus.collection;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * List of fixed-width records stored in a local file, which is mapped into memory region by region.
+ * <p>
+ * Elements live outside of the heap: only the mapped regions directory is on heap, so lists of hundreds of millions
+ * of records don't need a larger heap. Records are decoded on every get, so returned elements are copies.
+ * <p>
+ * File starts with a header with record width and list size. Size in the file is updated by {@link #force()}
+ * and {@link #close()}, so a list reopened after a crash contains elements written before the last force.
+ * Not thread safe.
+ */
+public class MappedFileList<T> extends AbstractList<T> implements RandomAccess, Closeable {
+
+    private static final int MAGIC = 0x4d464c31;
+    private static final int HEADER_SIZE = 16;
+    private static final int SIZE_OFFSET = 8;
+    private static final int DEFAULT_REGION_SIZE = 64 << 20;
+    private static final int COPY_CHUNK_SIZE = 64 << 10;
+
+    private final FixedWidthCodec<T> codec;
+    private final int width;
+    private final int recordsPerRegion;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer[] regions = new MappedByteBuffer[0];
+    private int regionCount;
+    private int size;
+    private boolean closed;
+
+    public MappedFileList(final Path file, final FixedWidthCodec<T> codec) throws IOException {
+        this(file, codec, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Open existing file or create a new one.
+     *
+     * @param regionSize bytes mapped at once, rounded down to whole records
+     */
+    public MappedFileList(final Path file, final FixedWidthCodec<T> codec, final int regionSize) throws IOException {
+        this.codec = Objects.requireNonNull(codec);
+        this.width = codec.width();
+        if (width <= 0 || regionSize < width) {
+            throw new IllegalArgumentException("Illegal record width " + width + " for region size " + regionSize);
+        }
+        this.recordsPerRegion = regionSize / width;
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final boolean created = channel.size() == 0;
+            this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.BIG_ENDIAN);
+            if (created) {
+                header.putInt(0, MAGIC);
+                header.putInt(4, width);
+                header.putLong(SIZE_OFFSET, 0);
+            } else {
+                readHeader(file);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        ensureCapacity(size);
+    }
+
+    private void readHeader(final Path file) throws IOException {
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Not a list file: " + file);
+        }
+        if (header.getInt(4) != width) {
+            throw new IOException("Record width " + header.getInt(4) + " of " + file
+                    + " doesn't match codec width " + width);
+        }
+        final long storedSize = header.getLong(SIZE_OFFSET);
+        if (storedSize < 0 || storedSize > Integer.MAX_VALUE || HEADER_SIZE + storedSize * width > channel.size()) {
+            throw new IOException("Corrupted size " + storedSize + " in " + file);
+        }
+        size = (int) storedSize;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T get(final int index) {
+        Objects.checkIndex(index, size);
+        return codec.decode(regions[index / recordsPerRegion], (index % recordsPerRegion) * width);
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        Objects.checkIndex(index, size);
+        final MappedByteBuffer region = regions[index / recordsPerRegion];
+        final int offset = (index % recordsPerRegion) * width;
+        final T oldValue = codec.decode(region, offset);
+        codec.encode(element, region, offset);
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(final T element) {
+        ensureOpen();
+        ensureCapacity(size + 1);
+        codec.encode(element, regions[size / recordsPerRegion], (size % recordsPerRegion) * width);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        checkPositionIndex(index);
+        ensureOpen();
+        ensureCapacity(size + 1);
+        moveRecords(index, index + 1, size - index);
+        codec.encode(element, regions[index / recordsPerRegion], (index % recordsPerRegion) * width);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public T remove(final int index) {
+        Objects.checkIndex(index, size);
+        ensureOpen();
+        final T oldValue = get(index);
+        moveRecords(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> c) {
+        ensureOpen();
+        final Object[] added = c.toArray();
+        ensureCapacity(size + added.length);
+        for (Object element : added) {
+            codec.encode((T) element, regions[size / recordsPerRegion], (size % recordsPerRegion) * width);
+            size++;
+        }
+        modCount++;
+        return added.length != 0;
+    }
+
+    /**
+     * Records stay in the file, only size is reset.
+     */
+    @Override
+    public void clear() {
+        ensureOpen();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        ensureOpen();
+        moveRecords(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    /**
+     * Sequential scan region by region.
+     */
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        for (int index = 0; index < size; ) {
+            final MappedByteBuffer region = regions[index / recordsPerRegion];
+            final int end = Math.min(size, (index / recordsPerRegion + 1) * recordsPerRegion);
+            for (int offset = (index % recordsPerRegion) * width; index < end; index++, offset += width) {
+                action.accept(codec.decode(region, offset));
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Durability point: all elements added or changed before the call and the list size are written to the storage.
+     */
+    public void force() {
+        ensureOpen();
+        header.putLong(SIZE_OFFSET, size);
+        for (int i = 0; i < regionCount; i++) {
+            regions[i].force();
+        }
+        header.force();
+    }
+
+    /**
+     * Force the content and close the file. Mapped regions are released by GC afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        force();
+        closed = true;
+        size = 0;
+        regions = new MappedByteBuffer[0];
+        regionCount = 0;
+        channel.close();
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("List file is closed");
+        }
+    }
+
+    /**
+     * Map regions required for minCapacity records, mapping beyond the end of file extends it.
+     */
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity < 0) {
+            // int overflow of size + additional elements count
+            throw new OutOfMemoryError("Required list size too large");
+        }
+        final int requiredRegions = (int) (((long) minCapacity + recordsPerRegion - 1) / recordsPerRegion);
+        if (requiredRegions <= regionCount) {
+            return;
+        }
+        if (requiredRegions > regions.length) {
+            regions = Arrays.copyOf(regions, Math.max(requiredRegions, regions.length * 2));
+        }
+        final long regionBytes = (long) recordsPerRegion * width;
+        try {
+            for (int i = regionCount; i < requiredRegions; i++) {
+                regions[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + i * regionBytes, regionBytes);
+                regionCount = i + 1;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copy count records starting from index from to index to, ranges may overlap.
+     * Records are copied in runs which don't cross region boundaries.
+     */
+    private void moveRecords(final int from, final int to, final int count) {
+        if (count == 0 || from == to) {
+            return;
+        }
+        final int maxRun = Math.max(1, COPY_CHUNK_SIZE / width);
+        final byte[] chunk = new byte[Math.min(count, maxRun) * width];
+        int remaining = count;
+        while (remaining > 0) {
+            final int run;
+            final int source;
+            final int target;
+            if (to < from) {
+                // forward, from the lowest index
+                source = from + count - remaining;
+                target = to + count - remaining;
+                run = min(remaining, maxRun,
+                        recordsPerRegion - source % recordsPerRegion, recordsPerRegion - target % recordsPerRegion);
+            } else {
+                // backward, from the highest index
+                final int lastSource = from + remaining - 1;
+                final int lastTarget = to + remaining - 1;
+                run = min(remaining, maxRun, lastSource % recordsPerRegion + 1, lastTarget % recordsPerRegion + 1);
+                source = lastSource - run + 1;
+                target = lastTarget - run + 1;
+            }
+            final int length = run * width;
+            regions[source / recordsPerRegion].get((source % recordsPerRegion) * width, chunk, 0, length);
+            regions[target / recordsPerRegion].put((target % recordsPerRegion) * width, chunk, 0, length);
+            remaining -= run;
+        }
+    }
+
+    private static int min(final int a, final int b, final int c, final int d) {
+        return Math.min(Math.min(a, b), Math.min(c, d));
+    }
+
+    private void checkPositionIndex(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
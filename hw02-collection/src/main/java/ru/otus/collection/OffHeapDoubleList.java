@@ -0,0 +1,143 @@
+package ru.otus.collection;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Sibling of {@link DoubleList} which keeps values in direct memory, so even multi-GB lists don't add to GC work.
+ * Memory is freed by {@link #close()}, the list can't grow after it.
+ */
+public class OffHeapDoubleList extends AbstractPrimitiveList implements Closeable {
+
+    private final OffHeapStorage storage = new OffHeapStorage(Double.BYTES);
+
+    public OffHeapDoubleList() {
+        this(GrowthPolicy.defaultPolicy());
+    }
+
+    public OffHeapDoubleList(final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+    }
+
+    public OffHeapDoubleList(final int initialCapacity, final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        storage.resize(initialCapacity);
+    }
+
+    @Override
+    public int capacity() {
+        return storage.capacity();
+    }
+
+    @Override
+    protected void resize(final int newCapacity) {
+        storage.resize(newCapacity);
+    }
+
+    public boolean add(final double value) {
+        if (size == storage.capacity()) {
+            growArray(size + 1);
+        }
+        storage.chunk(size).putDouble(storage.offset(size), value);
+        size += 1;
+        return true;
+    }
+
+    public void add(final int index, final double value) {
+        checkPositionIndex(index);
+        if (size == storage.capacity()) {
+            growArray(size + 1);
+        }
+        storage.move(index, index + 1, size - index);
+        storage.chunk(index).putDouble(storage.offset(index), value);
+        size += 1;
+    }
+
+    public boolean addAll(final double... values) {
+        if (values.length == 0) {
+            // nothing to do
+            return false;
+        }
+        if (values.length > storage.capacity() - size) {
+            growArray(size + values.length);
+        }
+        for (double value : values) {
+            storage.chunk(size).putDouble(storage.offset(size), value);
+            size++;
+        }
+        return true;
+    }
+
+    public double get(final int index) {
+        Objects.checkIndex(index, size);
+        return storage.chunk(index).getDouble(storage.offset(index));
+    }
+
+    public double set(final int index, final double value) {
+        Objects.checkIndex(index, size);
+        final double oldValue = storage.chunk(index).getDouble(storage.offset(index));
+        storage.chunk(index).putDouble(storage.offset(index), value);
+        return oldValue;
+    }
+
+    public double removeAt(final int index) {
+        Objects.checkIndex(index, size);
+        final double oldValue = storage.chunk(index).getDouble(storage.offset(index));
+        storage.move(index + 1, index, size - index - 1);
+        size -= 1;
+        return oldValue;
+    }
+
+    /**
+     * Values are compared like {@link Double#equals}, so NaN can be found and 0.0 differs from -0.0.
+     */
+    public int indexOf(final double value) {
+        final long bits = Double.doubleToLongBits(value);
+        for (int i = 0, end = size; i < end; i++) {
+            if (Double.doubleToLongBits(storage.chunk(i).getDouble(storage.offset(i))) == bits) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    public boolean contains(final double value) {
+        return indexOf(value) >= 0;
+    }
+
+    public double[] toArray() {
+        final double[] result = new double[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = storage.chunk(i).getDouble(storage.offset(i));
+        }
+        return result;
+    }
+
+    public double sum() {
+        double sum = 0;
+        for (int i = 0, end = size; i < end; i++) {
+            sum += storage.chunk(i).getDouble(storage.offset(i));
+        }
+        return sum;
+    }
+
+    public void forEach(final DoubleConsumer action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < size; i++) {
+            action.accept(storage.chunk(i).getDouble(storage.offset(i)));
+        }
+    }
+
+    /**
+     * Free direct memory, the list becomes empty.
+     */
+    @Override
+    public void close() {
+        size = 0;
+        storage.release();
+    }
+}
@@ -0,0 +1,139 @@
+package ru.otus.collection;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Sibling of {@link IntList} which keeps values in direct memory, so even multi-GB lists don't add to GC work.
+ * Memory is freed by {@link #close()}, the list can't grow after it.
+ */
+public class OffHeapIntList extends AbstractPrimitiveList implements Closeable {
+
+    private final OffHeapStorage storage = new OffHeapStorage(Integer.BYTES);
+
+    public OffHeapIntList() {
+        this(GrowthPolicy.defaultPolicy());
+    }
+
+    public OffHeapIntList(final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+    }
+
+    public OffHeapIntList(final int initialCapacity, final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        storage.resize(initialCapacity);
+    }
+
+    @Override
+    public int capacity() {
+        return storage.capacity();
+    }
+
+    @Override
+    protected void resize(final int newCapacity) {
+        storage.resize(newCapacity);
+    }
+
+    public boolean add(final int value) {
+        if (size == storage.capacity()) {
+            growArray(size + 1);
+        }
+        storage.chunk(size).putInt(storage.offset(size), value);
+        size += 1;
+        return true;
+    }
+
+    public void add(final int index, final int value) {
+        checkPositionIndex(index);
+        if (size == storage.capacity()) {
+            growArray(size + 1);
+        }
+        storage.move(index, index + 1, size - index);
+        storage.chunk(index).putInt(storage.offset(index), value);
+        size += 1;
+    }
+
+    public boolean addAll(final int... values) {
+        if (values.length == 0) {
+            // nothing to do
+            return false;
+        }
+        if (values.length > storage.capacity() - size) {
+            growArray(size + values.length);
+        }
+        for (int value : values) {
+            storage.chunk(size).putInt(storage.offset(size), value);
+            size++;
+        }
+        return true;
+    }
+
+    public int get(final int index) {
+        Objects.checkIndex(index, size);
+        return storage.chunk(index).getInt(storage.offset(index));
+    }
+
+    public int set(final int index, final int value) {
+        Objects.checkIndex(index, size);
+        final int oldValue = storage.chunk(index).getInt(storage.offset(index));
+        storage.chunk(index).putInt(storage.offset(index), value);
+        return oldValue;
+    }
+
+    public int removeAt(final int index) {
+        Objects.checkIndex(index, size);
+        final int oldValue = storage.chunk(index).getInt(storage.offset(index));
+        storage.move(index + 1, index, size - index - 1);
+        size -= 1;
+        return oldValue;
+    }
+
+    public int indexOf(final int value) {
+        for (int i = 0, end = size; i < end; i++) {
+            if (storage.chunk(i).getInt(storage.offset(i)) == value) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    public boolean contains(final int value) {
+        return indexOf(value) >= 0;
+    }
+
+    public int[] toArray() {
+        final int[] result = new int[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = storage.chunk(i).getInt(storage.offset(i));
+        }
+        return result;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0, end = size; i < end; i++) {
+            sum += storage.chunk(i).getInt(storage.offset(i));
+        }
+        return sum;
+    }
+
+    public void forEach(final IntConsumer action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < size; i++) {
+            action.accept(storage.chunk(i).getInt(storage.offset(i)));
+        }
+    }
+
+    /**
+     * Free direct memory, the list becomes empty.
+     */
+    @Override
+    public void close() {
+        size = 0;
+        storage.release();
+    }
+}
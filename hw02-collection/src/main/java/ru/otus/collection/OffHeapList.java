@@ -0,0 +1,170 @@
+package ru.otus.collection;
+
+import java.io.Closeable;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * List of fixed-layout records stored in direct memory through a {@link FixedWidthCodec}.
+ * <p>
+ * Only the chunk directory is on heap, so GC marking time doesn't depend on the list size.
+ * Records are decoded on every get, so returned elements are copies. Memory is freed by {@link #close()},
+ * the list can't grow after it.
+ */
+public class OffHeapList<T> extends AbstractList<T> implements RandomAccess, Closeable {
+
+    private static final int DEFAULT_SIZE = 16;
+
+    private final FixedWidthCodec<T> codec;
+    private final GrowthPolicy growthPolicy;
+    private final OffHeapStorage storage;
+    private int size;
+
+    public OffHeapList(final FixedWidthCodec<T> codec) {
+        this(codec, GrowthPolicy.defaultPolicy());
+    }
+
+    public OffHeapList(final FixedWidthCodec<T> codec, final GrowthPolicy growthPolicy) {
+        this.codec = Objects.requireNonNull(codec);
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.storage = new OffHeapStorage(codec.width());
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T get(final int index) {
+        Objects.checkIndex(index, size);
+        return codec.decode(storage.chunk(index), storage.offset(index));
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        Objects.checkIndex(index, size);
+        final T oldValue = codec.decode(storage.chunk(index), storage.offset(index));
+        codec.encode(element, storage.chunk(index), storage.offset(index));
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(final T element) {
+        if (size == storage.capacity()) {
+            growStorage(size + 1);
+        }
+        codec.encode(element, storage.chunk(size), storage.offset(size));
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == storage.capacity()) {
+            growStorage(size + 1);
+        }
+        storage.move(index, index + 1, size - index);
+        codec.encode(element, storage.chunk(index), storage.offset(index));
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public T remove(final int index) {
+        final T oldValue = get(index);
+        storage.move(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> c) {
+        final Object[] added = c.toArray();
+        if (added.length > storage.capacity() - size) {
+            growStorage(size + added.length);
+        }
+        for (Object element : added) {
+            codec.encode((T) element, storage.chunk(size), storage.offset(size));
+            size++;
+        }
+        modCount++;
+        return added.length != 0;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        storage.move(toIndex, fromIndex, size - toIndex);
+        size -= toIndex - fromIndex;
+        modCount++;
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        for (int i = 0; i < size && modCount == expectedModCount; i++) {
+            action.accept(codec.decode(storage.chunk(i), storage.offset(i)));
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    public int capacity() {
+        return storage.capacity();
+    }
+
+    public void ensureCapacity(final int minCapacity) {
+        if (minCapacity > storage.capacity()) {
+            growStorage(minCapacity);
+        }
+    }
+
+    public void trimToSize() {
+        if (size < storage.capacity()) {
+            storage.resize(size);
+        }
+    }
+
+    /**
+     * Free direct memory, the list becomes empty.
+     */
+    @Override
+    public void close() {
+        size = 0;
+        modCount++;
+        storage.release();
+    }
+
+    private void growStorage(final int atLeastNewSize) {
+        if (atLeastNewSize < 0) {
+            // int overflow of size + additional elements count
+            throw new OutOfMemoryError("Required list size too large");
+        }
+        final int currentCapacity = storage.capacity();
+        if (currentCapacity == 0) {
+            storage.resize(Math.max(atLeastNewSize, DEFAULT_SIZE));
+        } else {
+            storage.resize(Math.max(growthPolicy.newCapacity(currentCapacity, atLeastNewSize), atLeastNewSize));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package ru.otus.collection;
+
+import java.io.Closeable;
+import java.util.Objects;
+import java.util.function.LongConsumer;
+
+/**
+ * Sibling of {@link LongList} which keeps values in direct memory, so even multi-GB lists don't add to GC work.
+ * Memory is freed by {@link #close()}, the list can't grow after it.
+ */
+public class OffHeapLongList extends AbstractPrimitiveList implements Closeable {
+
+    private final OffHeapStorage storage = new OffHeapStorage(Long.BYTES);
+
+    public OffHeapLongList() {
+        this(GrowthPolicy.defaultPolicy());
+    }
+
+    public OffHeapLongList(final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+    }
+
+    public OffHeapLongList(final int initialCapacity, final GrowthPolicy growthPolicy) {
+        super(growthPolicy);
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        storage.resize(initialCapacity);
+    }
+
+    @Override
+    public int capacity() {
+        return storage.capacity();
+    }
+
+    @Override
+    protected void resize(final int newCapacity) {
+        storage.resize(newCapacity);
+    }
+
+    public boolean add(final long value) {
+        if (size == storage.capacity()) {
+            growArray(size + 1);
+        }
+        storage.chunk(size).putLong(storage.offset(size), value);
+        size += 1;
+        return true;
+    }
+
+    public void add(final int index, final long value) {
+        checkPositionIndex(index);
+        if (size == storage.capacity()) {
+            growArray(size + 1);
+        }
+        storage.move(index, index + 1, size - index);
+        storage.chunk(index).putLong(storage.offset(index), value);
+        size += 1;
+    }
+
+    public boolean addAll(final long... values) {
+        if (values.length == 0) {
+            // nothing to do
+            return false;
+        }
+        if (values.length > storage.capacity() - size) {
+            growArray(size + values.length);
+        }
+        for (long value : values) {
+            storage.chunk(size).putLong(storage.offset(size), value);
+            size++;
+        }
+        return true;
+    }
+
+    public long get(final int index) {
+        Objects.checkIndex(index, size);
+        return storage.chunk(index).getLong(storage.offset(index));
+    }
+
+    public long set(final int index, final long value) {
+        Objects.checkIndex(index, size);
+        final long oldValue = storage.chunk(index).getLong(storage.offset(index));
+        storage.chunk(index).putLong(storage.offset(index), value);
+        return oldValue;
+    }
+
+    public long removeAt(final int index) {
+        Objects.checkIndex(index, size);
+        final long oldValue = storage.chunk(index).getLong(storage.offset(index));
+        storage.move(index + 1, index, size - index - 1);
+        size -= 1;
+        return oldValue;
+    }
+
+    public int indexOf(final long value) {
+        for (int i = 0, end = size; i < end; i++) {
+            if (storage.chunk(i).getLong(storage.offset(i)) == value) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    public boolean contains(final long value) {
+        return indexOf(value) >= 0;
+    }
+
+    public long[] toArray() {
+        final long[] result = new long[size];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = storage.chunk(i).getLong(storage.offset(i));
+        }
+        return result;
+    }
+
+    public long sum() {
+        long sum = 0;
+        for (int i = 0, end = size; i < end; i++) {
+            sum += storage.chunk(i).getLong(storage.offset(i));
+        }
+        return sum;
+    }
+
+    public void forEach(final LongConsumer action) {
+        Objects.requireNonNull(action);
+        for (int i = 0; i < size; i++) {
+            action.accept(storage.chunk(i).getLong(storage.offset(i)));
+        }
+    }
+
+    /**
+     * Free direct memory, the list becomes empty.
+     */
+    @Override
+    public void close() {
+        size = 0;
+        storage.release();
+    }
+}
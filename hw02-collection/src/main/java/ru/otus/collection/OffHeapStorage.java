@@ -0,0 +1,171 @@
+package ru.otus.collection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Fixed-width slots in direct byte buffers, outside of the heap, so GC never marks or copies them.
+ * <p>
+ * A direct buffer can't be larger than 2 GB, so slots are split into chunks of 2^n slots and at most 1 GB.
+ * All chunks except the last one are full, only the last chunk is reallocated on resize,
+ * with off-heap to off-heap copy. Replaced chunks are freed right away.
+ */
+final class OffHeapStorage {
+
+    private static final int MAX_CHUNK_BYTES = 1 << 30;
+    private static final int COPY_CHUNK_SIZE = 64 << 10;
+    private static final ByteBuffer[] NO_CHUNKS = {};
+    private static final MethodHandle INVOKE_CLEANER = findCleaner();
+
+    private final int width;
+    private final int chunkShift;
+    private final int chunkMask;
+    private ByteBuffer[] chunks = NO_CHUNKS;
+    private int capacity;
+    private boolean released;
+
+    OffHeapStorage(final int width) {
+        this(width, MAX_CHUNK_BYTES);
+    }
+
+    OffHeapStorage(final int width, final int maxChunkBytes) {
+        if (width <= 0 || width > maxChunkBytes || maxChunkBytes > MAX_CHUNK_BYTES) {
+            throw new IllegalArgumentException("Illegal slot width: " + width);
+        }
+        this.width = width;
+        this.chunkShift = 31 - Integer.numberOfLeadingZeros(maxChunkBytes / width);
+        this.chunkMask = (1 << chunkShift) - 1;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    ByteBuffer chunk(final int index) {
+        return chunks[index >>> chunkShift];
+    }
+
+    int offset(final int index) {
+        return (index & chunkMask) * width;
+    }
+
+    /**
+     * Change capacity keeping first min(capacity, newCapacity) slots.
+     */
+    void resize(final int newCapacity) {
+        if (released) {
+            throw new IllegalStateException("Off-heap storage is closed");
+        }
+        final int chunkSize = chunkMask + 1;
+        final int newChunkCount = (int) (((long) newCapacity + chunkMask) >>> chunkShift);
+        final ByteBuffer[] newChunks = newChunkCount == 0 ? NO_CHUNKS : Arrays.copyOf(chunks, newChunkCount);
+        for (int i = 0; i < newChunkCount; i++) {
+            final int chunkBytes = Math.min(chunkSize, newCapacity - i * chunkSize) * width;
+            final ByteBuffer existing = newChunks[i];
+            if (existing == null || existing.capacity() != chunkBytes) {
+                newChunks[i] = reallocate(existing, chunkBytes);
+            }
+        }
+        for (int i = newChunkCount; i < chunks.length; i++) {
+            free(chunks[i]);
+        }
+        chunks = newChunks;
+        capacity = newCapacity;
+    }
+
+    /**
+     * Copy count slots starting from index from to index to, ranges may overlap.
+     */
+    void move(final int from, final int to, final int count) {
+        if (count == 0 || from == to) {
+            return;
+        }
+        final int chunkSize = chunkMask + 1;
+        final int maxRun = Math.max(1, COPY_CHUNK_SIZE / width);
+        final byte[] buffer = new byte[Math.min(count, maxRun) * width];
+        int remaining = count;
+        while (remaining > 0) {
+            final int run;
+            final int source;
+            final int target;
+            if (to < from) {
+                source = from + count - remaining;
+                target = to + count - remaining;
+                run = Math.min(Math.min(remaining, maxRun),
+                        Math.min(chunkSize - (source & chunkMask), chunkSize - (target & chunkMask)));
+            } else {
+                final int lastSource = from + remaining - 1;
+                final int lastTarget = to + remaining - 1;
+                run = Math.min(Math.min(remaining, maxRun),
+                        Math.min((lastSource & chunkMask) + 1, (lastTarget & chunkMask) + 1));
+                source = lastSource - run + 1;
+                target = lastTarget - run + 1;
+            }
+            final int length = run * width;
+            chunk(source).get(offset(source), buffer, 0, length);
+            chunk(target).put(offset(target), buffer, 0, length);
+            remaining -= run;
+        }
+    }
+
+    /**
+     * Free all chunks. Storage can't be used afterwards.
+     */
+    void release() {
+        if (released) {
+            return;
+        }
+        released = true;
+        final ByteBuffer[] freed = chunks;
+        // drop references first, so nothing reads freed memory
+        chunks = NO_CHUNKS;
+        capacity = 0;
+        for (ByteBuffer chunk : freed) {
+            free(chunk);
+        }
+    }
+
+    private static ByteBuffer reallocate(final ByteBuffer existing, final int bytes) {
+        final ByteBuffer allocated = ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        if (existing != null) {
+            final ByteBuffer source = existing.duplicate();
+            source.clear().limit(Math.min(existing.capacity(), bytes));
+            allocated.put(source).clear();
+            free(existing);
+        }
+        return allocated;
+    }
+
+    /**
+     * Direct buffer memory is usually freed only after GC finds the buffer unreachable,
+     * so the cleaner is invoked explicitly where the runtime allows it.
+     */
+    private static void free(final ByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return;
+        }
+        try {
+            INVOKE_CLEANER.invokeExact(buffer);
+        } catch (Throwable e) {
+            // memory is freed by GC then
+        }
+    }
+
+    private static MethodHandle findCleaner() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package ru.otus.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Linear probing table over parallel key and value arrays, shared by {@link CustomHashMap} and
+ * {@link CustomHashSet}. A set keeps no value array at all.
+ * <p>
+ * Removed entries are deleted by backward shift, so there are no tombstones and lookups of absent keys
+ * stop at the first empty slot. Capacity is a power of two, the growth policy only chooses how much
+ * larger the next table is.
+ */
+final class OpenHashTable {
+
+    static final float DEFAULT_LOAD_FACTOR = 0.6f;
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+    // stands for null key, since null marks an empty slot
+    private static final Object NULL_KEY = new Object();
+
+    private final GrowthPolicy growthPolicy;
+    private final float loadFactor;
+    private final boolean withValues;
+
+    Object[] keys;
+    Object[] values;
+    int size;
+    int modCount;
+    private int mask;
+    private int threshold;
+
+    OpenHashTable(final int expectedSize, final GrowthPolicy growthPolicy, final float loadFactor,
+                  final boolean withValues) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Illegal expected size: " + expectedSize);
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.loadFactor = checkLoadFactor(loadFactor);
+        this.withValues = withValues;
+        allocate(capacityFor(expectedSize, loadFactor));
+    }
+
+    static float checkLoadFactor(final float loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Illegal load factor: " + loadFactor);
+        }
+        return loadFactor;
+    }
+
+    /**
+     * @return power-of-two table length which holds expectedSize entries below the load factor
+     */
+    static int capacityFor(final int expectedSize, final float loadFactor) {
+        final long required = (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+        if (required > MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+    /**
+     * @return next power-of-two table length, at least what the growth policy asks for
+     */
+    static int grownCapacity(final GrowthPolicy growthPolicy, final int capacity, final int requiredCapacity) {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table can't grow beyond " + MAX_CAPACITY + " slots");
+        }
+        final int desired = Math.max(growthPolicy.newCapacity(capacity, requiredCapacity), requiredCapacity);
+        return desired >= MAX_CAPACITY ? MAX_CAPACITY : Integer.highestOneBit(desired - 1) << 1;
+    }
+
+    static int mix(final int hash) {
+        final int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(final long key) {
+        final long h = key * 0x9e3779b97f4a7c15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    static Object unmask(final Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    /**
+     * @return slot of the key, or -(free slot) - 1 where it would be inserted
+     */
+    int find(final Object key) {
+        final Object k = key == null ? NULL_KEY : key;
+        int i = mix(k.hashCode()) & mask;
+        Object current;
+        while ((current = keys[i]) != null) {
+            if (current == k || current.equals(k)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -i - 1;
+    }
+
+    /**
+     * @return slot of the key, which is added with null value if absent
+     */
+    int insert(final Object key) {
+        final int slot = find(key);
+        if (slot >= 0) {
+            return slot;
+        }
+        keys[-slot - 1] = key == null ? NULL_KEY : key;
+        size++;
+        modCount++;
+        if (size <= threshold) {
+            return -slot - 1;
+        }
+        resize(grownCapacity(growthPolicy, keys.length, capacityFor(size, loadFactor)));
+        return find(key);
+    }
+
+    void removeAt(final int slot) {
+        removeAt(slot, Integer.MIN_VALUE, null);
+    }
+
+    /**
+     * Delete entry and shift following entries of its cluster back into the hole.
+     *
+     * @param visitedFrom slots from it to the end were already returned by an iterator
+     * @param wrapped     collects key-value pairs which wrap around from not visited slots into visited ones
+     */
+    private void removeAt(final int slot, final int visitedFrom, final List<Object> wrapped) {
+        int hole = slot;
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            final Object key = keys[j];
+            if (key == null) {
+                break;
+            }
+            final int home = mix(key.hashCode()) & mask;
+            final boolean staysInPlace = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+            if (staysInPlace) {
+                continue;
+            }
+            if (wrapped != null && j < visitedFrom && hole >= visitedFrom) {
+                wrapped.add(key);
+                wrapped.add(withValues ? values[j] : null);
+            }
+            keys[hole] = key;
+            if (withValues) {
+                values[hole] = values[j];
+            }
+            hole = j;
+        }
+        keys[hole] = null;
+        if (withValues) {
+            values[hole] = null;
+        }
+        size--;
+        modCount++;
+    }
+
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(keys, null);
+        if (withValues) {
+            Arrays.fill(values, null);
+        }
+        size = 0;
+        modCount++;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Shrink the table to the smallest one which holds current entries below the load factor.
+     */
+    void trimToSize() {
+        final int capacity = capacityFor(size, loadFactor);
+        if (capacity < keys.length) {
+            resize(capacity);
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new Object[capacity];
+        values = withValues ? new Object[capacity] : null;
+        mask = capacity - 1;
+        threshold = (int) Math.min(capacity - 1L, (long) (capacity * (double) loadFactor));
+    }
+
+    private void resize(final int capacity) {
+        final Object[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            final Object key = oldKeys[i];
+            if (key != null) {
+                int j = mix(key.hashCode()) & mask;
+                while (keys[j] != null) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                if (withValues) {
+                    values[j] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Walks slots from the end of the table to the start, so backward shift by {@link #remove()} only moves
+     * already returned entries, except for those which wrap around the table end. Such entries are collected
+     * and returned after the walk.
+     */
+    final class Cursor {
+
+        private int position = keys.length;
+        private int last = -1;
+        private int remaining = size;
+        private List<Object> wrapped;
+        private int expectedModCount = modCount;
+        private Object key;
+        private Object value;
+
+        boolean hasNext() {
+            return remaining > 0;
+        }
+
+        void advance() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            while (--position >= 0) {
+                if (keys[position] != null) {
+                    last = position;
+                    key = unmask(keys[position]);
+                    value = withValues ? values[position] : null;
+                    return;
+                }
+            }
+            // past the start of the table, entries come from the wrapped list
+            last = Integer.MIN_VALUE;
+            final int pair = (-position - 1) * 2;
+            key = unmask(wrapped.get(pair));
+            value = wrapped.get(pair + 1);
+        }
+
+        Object key() {
+            return key;
+        }
+
+        Object value() {
+            return value;
+        }
+
+        void remove() {
+            if (last == -1) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (last == Integer.MIN_VALUE) {
+                removeAt(find(key));
+            } else {
+                if (wrapped == null) {
+                    wrapped = new ArrayList<>();
+                }
+                removeAt(last, last, wrapped);
+            }
+            last = -1;
+            expectedModCount = modCount;
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package ru.otus.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list with structural sharing: every update returns a new version which shares
+ * all untouched nodes with the previous one, so old versions stay valid and can be read from
+ * any thread without locks.
+ * <p>
+ * Elements are stored in a radix-balanced tree of 32-wide nodes plus a tail buffer with the last (up to 32)
+ * elements, so {@link #plus} is amortized O(1) and {@link #get} / {@link #with} are O(log32 n).
+ * <p>
+ * A vector can also be frozen over a flat array of {@link CustomArrayListImplementation} in O(1):
+ * subtrees over that array are materialized lazily, only on the paths which are updated.
+ * Use {@link #asTransient()} for batch updates without copying paths on every step.
+ */
+public final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    // Node or Slice
+    private final Object root;
+    private final Object[] tail;
+
+    private PersistentVector(final int size, final int shift, final Object root, final Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public static <T> PersistentVector<T> from(final Collection<? extends T> c) {
+        final Transient<T> result = PersistentVector.<T>empty().asTransient();
+        for (T element : c) {
+            result.add(element);
+        }
+        return result.persistent();
+    }
+
+    /**
+     * Create vector over first size elements of array without copying them.
+     * Caller must never modify [0, size) range of the array afterwards.
+     */
+    static <T> PersistentVector<T> freeze(final Object[] array, final int size) {
+        if (size == 0) {
+            return empty();
+        }
+        final int tailOffset = tailOffset(size);
+        final Object[] tail = Arrays.copyOfRange(array, tailOffset, size);
+        if (tailOffset == 0) {
+            return new PersistentVector<>(size, BITS, EMPTY_NODE, tail);
+        }
+        int shift = BITS;
+        while ((tailOffset >>> BITS) > (1 << shift)) {
+            shift += BITS;
+        }
+        return new PersistentVector<>(size, shift, new Slice(array, 0, tailOffset), tail);
+    }
+
+    private static int tailOffset(final int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T get(final int index) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset(size)) {
+            return (T) tail[index & MASK];
+        }
+        return (T) elementOf(root, shift, index);
+    }
+
+    /**
+     * @return new version with element at index replaced by value
+     */
+    public PersistentVector<T> with(final int index, final T value) {
+        Objects.checkIndex(index, size);
+        if (index >= tailOffset(size)) {
+            final Object[] newTail = tail.clone();
+            newTail[index & MASK] = value;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(null, shift, root, index, value), tail);
+    }
+
+    /**
+     * @return new version with value appended
+     */
+    public PersistentVector<T> plus(final T value) {
+        if (size - tailOffset(size) < WIDTH) {
+            final Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = value;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        final Node tailNode = new Node(null, tail);
+        int newShift = shift;
+        final Object newRoot;
+        if ((size >>> BITS) > (1 << shift)) {
+            // root is full, tree grows one level up
+            final Node grown = new Node(null, new Object[WIDTH]);
+            grown.array[0] = root;
+            grown.array[1] = newPath(null, shift, tailNode);
+            newRoot = grown;
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[]{value});
+    }
+
+    /**
+     * @return new version without the last element
+     */
+    public PersistentVector<T> withoutLast() {
+        if (size == 0) {
+            throw new IllegalStateException("Can't remove from empty vector");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset(size) > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        final Object[] newTail = leafCopy(root, shift, size - 2);
+        Object newRoot = popTail(null, size, shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+            newShift = BITS;
+        } else if (shift > BITS && childOf(newRoot, shift, 1) == null) {
+            newRoot = childOf(newRoot, shift, 0);
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    public Transient<T> asTransient() {
+        return new Transient<>(this);
+    }
+
+    private static Object elementOf(final Object root, final int shift, final int index) {
+        Object node = root;
+        for (int level = shift; ; level -= BITS) {
+            if (node instanceof Slice) {
+                final Slice slice = (Slice) node;
+                return slice.array[slice.start + (index & subtreeMask(level))];
+            }
+            final Object[] array = ((Node) node).array;
+            if (level == 0) {
+                return array[index & MASK];
+            }
+            node = array[(index >>> level) & MASK];
+        }
+    }
+
+    private static Object[] leafCopy(final Object root, final int shift, final int index) {
+        final Object[] leaf = new Object[WIDTH];
+        final int base = index & ~MASK;
+        for (int i = 0; i < WIDTH; i++) {
+            leaf[i] = elementOf(root, shift, base + i);
+        }
+        return leaf;
+    }
+
+    /**
+     * Number of elements under node of the level is 2^(level + BITS), mask selects position inside of it.
+     */
+    private static int subtreeMask(final int level) {
+        return level + BITS >= Integer.SIZE - 1 ? -1 : (1 << (level + BITS)) - 1;
+    }
+
+    private static Object childOf(final Object node, final int level, final int childIndex) {
+        if (node instanceof Slice) {
+            return ((Slice) node).child(level, childIndex);
+        }
+        return ((Node) node).array[childIndex];
+    }
+
+    /**
+     * Node which may be modified in place by the owner of edit token. Slices are materialized one level down.
+     */
+    private static Node editable(final Object edit, final Object node, final int level) {
+        if (node instanceof Slice) {
+            return ((Slice) node).expand(edit, level);
+        }
+        final Node existing = (Node) node;
+        if (edit != null && existing.edit == edit) {
+            return existing;
+        }
+        return new Node(edit, existing.array.clone());
+    }
+
+    private static Object assoc(final Object edit, final int level, final Object node, final int index, final Object value) {
+        final Node result = editable(edit, node, level);
+        if (level == 0) {
+            result.array[index & MASK] = value;
+        } else {
+            final int childIndex = (index >>> level) & MASK;
+            result.array[childIndex] = assoc(edit, level - BITS, result.array[childIndex], index, value);
+        }
+        return result;
+    }
+
+    private static Object newPath(final Object edit, final int level, final Node node) {
+        if (level == 0) {
+            return node;
+        }
+        final Node path = new Node(edit, new Object[WIDTH]);
+        path.array[0] = newPath(edit, level - BITS, node);
+        return path;
+    }
+
+    /**
+     * @param size number of elements including full tail which is pushed into the tree
+     */
+    private static Object pushTail(final Object edit, final int size, final int level, final Object parent, final Node tailNode) {
+        final Node result = editable(edit, parent, level);
+        final int childIndex = ((size - 1) >>> level) & MASK;
+        final Object inserted;
+        if (level == BITS) {
+            inserted = tailNode;
+        } else {
+            final Object child = result.array[childIndex];
+            inserted = child != null
+                    ? pushTail(edit, size, level - BITS, child, tailNode)
+                    : newPath(edit, level - BITS, tailNode);
+        }
+        result.array[childIndex] = inserted;
+        return result;
+    }
+
+    /**
+     * Remove the rightmost leaf.
+     *
+     * @return new node or null if node became empty
+     */
+    private static Object popTail(final Object edit, final int size, final int level, final Object node) {
+        final int childIndex = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            final Object newChild = popTail(edit, size, level - BITS, childOf(node, level, childIndex));
+            if (newChild == null && childIndex == 0) {
+                return null;
+            }
+            final Node result = editable(edit, node, level);
+            result.array[childIndex] = newChild;
+            return result;
+        } else if (childIndex == 0) {
+            return null;
+        }
+        final Node result = editable(edit, node, level);
+        result.array[childIndex] = null;
+        return result;
+    }
+
+    private static final class Node {
+        // transient which may modify node in place, null for nodes of persistent versions
+        final Object edit;
+        final Object[] array;
+
+        Node(final Object edit, final Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Not yet materialized subtree over [start, start + 2^(level + BITS)) range of a frozen array.
+     * Elements at end and after it don't belong to the tree.
+     */
+    private static final class Slice {
+        final Object[] array;
+        final int start;
+        final int end;
+
+        Slice(final Object[] array, final int start, final int end) {
+            this.array = array;
+            this.start = start;
+            this.end = end;
+        }
+
+        Object child(final int level, final int childIndex) {
+            final int childStart = start + (childIndex << level);
+            return childStart < end ? new Slice(array, childStart, end) : null;
+        }
+
+        Node expand(final Object edit, final int level) {
+            final Object[] children = new Object[WIDTH];
+            if (level == 0) {
+                System.arraycopy(array, start, children, 0, WIDTH);
+            } else {
+                for (int i = 0; i < WIDTH; i++) {
+                    children[i] = child(level, i);
+                }
+            }
+            return new Node(edit, children);
+        }
+    }
+
+    /**
+     * Mutable builder over a vector. Nodes created by the transient are modified in place,
+     * so a batch of updates copies every path at most once. Must be confined to a single thread.
+     */
+    public static final class Transient<T> {
+
+        private Object edit = new Object();
+        private int size;
+        private int shift;
+        private Object root;
+        // always WIDTH long
+        private Object[] tail;
+
+        private Transient(final PersistentVector<T> vector) {
+            this.size = vector.size;
+            this.shift = vector.shift;
+            this.root = vector.root;
+            this.tail = Arrays.copyOf(vector.tail, WIDTH);
+        }
+
+        public int size() {
+            ensureEditable();
+            return size;
+        }
+
+        public T get(final int index) {
+            ensureEditable();
+            Objects.checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                return (T) tail[index & MASK];
+            }
+            return (T) elementOf(root, shift, index);
+        }
+
+        public Transient<T> set(final int index, final T value) {
+            ensureEditable();
+            Objects.checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = value;
+            } else {
+                root = assoc(edit, shift, root, index, value);
+            }
+            return this;
+        }
+
+        public Transient<T> add(final T value) {
+            ensureEditable();
+            if (size - tailOffset(size) < WIDTH) {
+                tail[size & MASK] = value;
+                size++;
+                return this;
+            }
+            final Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = value;
+            if ((size >>> BITS) > (1 << shift)) {
+                final Node grown = new Node(edit, new Object[WIDTH]);
+                grown.array[0] = root;
+                grown.array[1] = newPath(edit, shift, tailNode);
+                root = grown;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, size, shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        public Transient<T> removeLast() {
+            ensureEditable();
+            if (size == 0) {
+                throw new IllegalStateException("Can't remove from empty vector");
+            }
+            if (size == 1 || size - tailOffset(size) > 1) {
+                size--;
+                tail[size & MASK] = null;
+                return this;
+            }
+            final Object[] newTail = leafCopy(root, shift, size - 2);
+            Object newRoot = popTail(edit, size, shift, root);
+            if (newRoot == null) {
+                newRoot = EMPTY_NODE;
+                shift = BITS;
+            } else if (shift > BITS && childOf(newRoot, shift, 1) == null) {
+                newRoot = childOf(newRoot, shift, 0);
+                shift -= BITS;
+            }
+            root = newRoot;
+            tail = newTail;
+            size--;
+            return this;
+        }
+
+        /**
+         * Freeze transient into a persistent vector. The transient can't be used afterwards.
+         */
+        public PersistentVector<T> persistent() {
+            ensureEditable();
+            edit = null;
+            if (size == 0) {
+                return empty();
+            }
+            final Object[] trimmedTail = Arrays.copyOf(tail, size - tailOffset(size));
+            return new PersistentVector<>(size, shift, root, trimmedTail);
+        }
+
+        private void ensureEditable() {
+            if (edit == null) {
+                throw new IllegalStateException("Transient used after persistent() call");
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.otus.collection;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codecs of boxed primitives, null values are rejected with NullPointerException.
+ */
+final class PrimitiveCodec {
+
+    static final FixedWidthCodec<Integer> INT = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(final Integer value, final ByteBuffer target, final int offset) {
+            target.putInt(offset, value);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer source, final int offset) {
+            return source.getInt(offset);
+        }
+    };
+
+    static final FixedWidthCodec<Long> LONG = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(final Long value, final ByteBuffer target, final int offset) {
+            target.putLong(offset, value);
+        }
+
+        @Override
+        public Long decode(final ByteBuffer source, final int offset) {
+            return source.getLong(offset);
+        }
+    };
+
+    static final FixedWidthCodec<Double> DOUBLE = new FixedWidthCodec<>() {
+        @Override
+        public int width() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public void encode(final Double value, final ByteBuffer target, final int offset) {
+            target.putDouble(offset, value);
+        }
+
+        @Override
+        public Double decode(final ByteBuffer source, final int offset) {
+            return source.getDouble(offset);
+        }
+    };
+
+    private PrimitiveCodec() {
+    }
+}
@@ -0,0 +1,149 @@
+package ru.otus.collection;
+
+import java.util.Arrays;
+
+/**
+ * LSD radix sort of primitive arrays by 8-bit digits, O(n) for any data. Ints and longs are sorted with one
+ * temporary array of the range size, doubles with two, since their keys don't fit the array itself.
+ * Short ranges are sorted by {@link Arrays#sort}, which is faster there.
+ */
+final class RadixSort {
+
+    static final int THRESHOLD = 1 << 12;
+
+    private static final int DIGIT_BITS = 8;
+    private static final int BUCKETS = 1 << DIGIT_BITS;
+    private static final int DIGIT_MASK = BUCKETS - 1;
+
+    private RadixSort() {
+    }
+
+    static void sort(final int[] a, final int from, final int to) {
+        final int length = to - from;
+        if (length < THRESHOLD) {
+            Arrays.sort(a, from, to);
+            return;
+        }
+        int[] source = a;
+        int sourceFrom = from;
+        int[] target = new int[length];
+        int targetFrom = 0;
+        final int[] counts = new int[BUCKETS];
+        for (int shift = 0; shift < Integer.SIZE; shift += DIGIT_BITS) {
+            // sign bit is flipped, so negative values go first
+            final int flip = shift == Integer.SIZE - DIGIT_BITS ? 0x80 : 0;
+            Arrays.fill(counts, 0);
+            for (int i = sourceFrom, end = sourceFrom + length; i < end; i++) {
+                counts[((source[i] >>> shift) & DIGIT_MASK) ^ flip]++;
+            }
+            if (isSingleBucket(counts, length)) {
+                // every value has the same digit, pass changes nothing
+                continue;
+            }
+            toOffsets(counts, targetFrom);
+            for (int i = sourceFrom, end = sourceFrom + length; i < end; i++) {
+                final int value = source[i];
+                target[counts[((value >>> shift) & DIGIT_MASK) ^ flip]++] = value;
+            }
+            final int[] swap = source;
+            source = target;
+            target = swap;
+            final int swapFrom = sourceFrom;
+            sourceFrom = targetFrom;
+            targetFrom = swapFrom;
+        }
+        if (source != a) {
+            System.arraycopy(source, sourceFrom, a, from, length);
+        }
+    }
+
+    static void sort(final long[] a, final int from, final int to) {
+        final int length = to - from;
+        if (length < THRESHOLD) {
+            Arrays.sort(a, from, to);
+            return;
+        }
+        // sign bit is flipped in place, so negative values go first
+        for (int i = from; i < to; i++) {
+            a[i] ^= Long.MIN_VALUE;
+        }
+        sortUnsigned(a, from, length);
+        for (int i = from; i < to; i++) {
+            a[i] ^= Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Same order as {@link Arrays#sort(double[])}: -0.0 goes before 0.0 and NaN goes last.
+     */
+    static void sort(final double[] a, final int from, final int to) {
+        final int length = to - from;
+        if (length < THRESHOLD) {
+            Arrays.sort(a, from, to);
+            return;
+        }
+        final long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            final long bits = Double.doubleToLongBits(a[from + i]);
+            // negative values are ordered backwards by their bits, so all bits of them are inverted
+            keys[i] = bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+        }
+        sortUnsigned(keys, 0, length);
+        for (int i = 0; i < length; i++) {
+            final long key = keys[i];
+            a[from + i] = Double.longBitsToDouble(key < 0 ? key ^ Long.MIN_VALUE : ~key);
+        }
+    }
+
+    private static void sortUnsigned(final long[] keys, final int from, final int length) {
+        long[] source = keys;
+        int sourceFrom = from;
+        long[] target = new long[length];
+        int targetFrom = 0;
+        final int[] counts = new int[BUCKETS];
+        for (int shift = 0; shift < Long.SIZE; shift += DIGIT_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = sourceFrom, end = sourceFrom + length; i < end; i++) {
+                counts[(int) (source[i] >>> shift) & DIGIT_MASK]++;
+            }
+            if (isSingleBucket(counts, length)) {
+                continue;
+            }
+            toOffsets(counts, targetFrom);
+            for (int i = sourceFrom, end = sourceFrom + length; i < end; i++) {
+                final long value = source[i];
+                target[counts[(int) (value >>> shift) & DIGIT_MASK]++] = value;
+            }
+            final long[] swap = source;
+            source = target;
+            target = swap;
+            final int swapFrom = sourceFrom;
+            sourceFrom = targetFrom;
+            targetFrom = swapFrom;
+        }
+        if (source != keys) {
+            System.arraycopy(source, sourceFrom, keys, from, length);
+        }
+    }
+
+    private static boolean isSingleBucket(final int[] counts, final int length) {
+        for (int count : counts) {
+            if (count != 0) {
+                return count == length;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace counts with the first position of every bucket.
+     */
+    private static void toOffsets(final int[] counts, final int start) {
+        int offset = start;
+        for (int i = 0; i < BUCKETS; i++) {
+            final int count = counts[i];
+            counts[i] = offset;
+            offset += count;
+        }
+    }
+}
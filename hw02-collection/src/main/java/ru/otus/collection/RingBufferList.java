@@ -0,0 +1,538 @@
+package ru.otus.collection;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Array list over a circular buffer, which is also a {@link Deque}.
+ * <p>
+ * Elements start at head and wrap around the end of the backing array, so adding or removing at either end is
+ * O(1) amortized and never moves other elements, unlike {@code add(0, x)} / {@code remove(0)} of
+ * {@link CustomArrayListImplementation}. Indexed access is head offset arithmetic. Inserts and removes
+ * in the middle move the shorter side, so they cost O(min(index, size - index)).
+ */
+public class RingBufferList<T> extends AbstractList<T> implements Deque<T>, RandomAccess {
+
+    private static final int DEFAULT_SIZE = 16;
+    private static final int NOT_FOUND_IDX = -1;
+
+    private final GrowthPolicy growthPolicy;
+    private Object[] elements;
+    // physical position of the element with index 0
+    private int head;
+    private int size;
+
+    public RingBufferList() {
+        this(DEFAULT_SIZE, GrowthPolicy.defaultPolicy());
+    }
+
+    public RingBufferList(final int initialCapacity, final GrowthPolicy growthPolicy) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.elements = new Object[initialCapacity];
+    }
+
+    public RingBufferList(final Collection<? extends T> c) {
+        this(Math.max(c.size(), DEFAULT_SIZE), GrowthPolicy.defaultPolicy());
+        addAll(c);
+    }
+
+    private int physical(final int index) {
+        final int i = head + index;
+        return i - elements.length >= 0 ? i - elements.length : i;
+    }
+
+    private int next(final int position) {
+        return position + 1 == elements.length ? 0 : position + 1;
+    }
+
+    private int previous(final int position) {
+        return position == 0 ? elements.length - 1 : position - 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    public T get(final int index) {
+        Objects.checkIndex(index, size);
+        return (T) elements[physical(index)];
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        Objects.checkIndex(index, size);
+        final int i = physical(index);
+        final T oldValue = (T) elements[i];
+        elements[i] = element;
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(final T element) {
+        addLast(element);
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        checkPositionIndex(index);
+        ensureCapacity(size + 1);
+        if (index < size / 2) {
+            head = previous(head);
+            for (int i = 0; i < index; i++) {
+                elements[physical(i)] = elements[physical(i + 1)];
+            }
+        } else {
+            for (int i = size; i > index; i--) {
+                elements[physical(i)] = elements[physical(i - 1)];
+            }
+        }
+        elements[physical(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public T remove(final int index) {
+        Objects.checkIndex(index, size);
+        final T oldValue = (T) elements[physical(index)];
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--) {
+                elements[physical(i)] = elements[physical(i - 1)];
+            }
+            elements[head] = null;
+            head = next(head);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                elements[physical(i)] = elements[physical(i + 1)];
+            }
+            elements[physical(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> c) {
+        final Object[] added = c.toArray();
+        if (added.length == 0) {
+            // nothing to do
+            return false;
+        }
+        ensureCapacity(size + added.length);
+        final int tail = physical(size);
+        final int firstPart = Math.min(added.length, elements.length - tail);
+        System.arraycopy(added, 0, elements, tail, firstPart);
+        System.arraycopy(added, firstPart, elements, 0, added.length - firstPart);
+        size += added.length;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            elements[physical(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Elements after the range are moved once, instead of removing range elements one by one.
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        final int removed = toIndex - fromIndex;
+        for (int i = fromIndex; i + removed < size; i++) {
+            elements[physical(i)] = elements[physical(i + removed)];
+        }
+        for (int i = size - removed; i < size; i++) {
+            elements[physical(i)] = null;
+        }
+        size -= removed;
+        modCount++;
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(o, elements[physical(i)])) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    @Override
+    public int lastIndexOf(final Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(o, elements[physical(i)])) {
+                return i;
+            }
+        }
+        return NOT_FOUND_IDX;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) != NOT_FOUND_IDX;
+    }
+
+    @Override
+    public Object[] toArray() {
+        final Object[] result = new Object[size];
+        final int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, result, 0, firstPart);
+        System.arraycopy(elements, 0, result, firstPart, size - firstPart);
+        return result;
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        for (int i = 0; i < size && modCount == expectedModCount; i++) {
+            action.accept((T) elements[physical(i)]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = toArray();
+            head = 0;
+        }
+    }
+
+    // Deque
+
+    @Override
+    public void addFirst(final T element) {
+        ensureCapacity(size + 1);
+        head = previous(head);
+        elements[head] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void addLast(final T element) {
+        ensureCapacity(size + 1);
+        elements[physical(size)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean offerFirst(final T element) {
+        addFirst(element);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(final T element) {
+        addLast(element);
+        return true;
+    }
+
+    @Override
+    public T removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return pollFirst();
+    }
+
+    @Override
+    public T removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return pollLast();
+    }
+
+    @Override
+    public T pollFirst() {
+        if (size == 0) {
+            return null;
+        }
+        final T element = (T) elements[head];
+        elements[head] = null;
+        head = next(head);
+        size--;
+        modCount++;
+        return element;
+    }
+
+    @Override
+    public T pollLast() {
+        if (size == 0) {
+            return null;
+        }
+        final int tail = physical(size - 1);
+        final T element = (T) elements[tail];
+        elements[tail] = null;
+        size--;
+        modCount++;
+        return element;
+    }
+
+    @Override
+    public T getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) elements[head];
+    }
+
+    @Override
+    public T getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) elements[physical(size - 1)];
+    }
+
+    @Override
+    public T peekFirst() {
+        return size == 0 ? null : (T) elements[head];
+    }
+
+    @Override
+    public T peekLast() {
+        return size == 0 ? null : (T) elements[physical(size - 1)];
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(final Object o) {
+        final int index = indexOf(o);
+        if (index == NOT_FOUND_IDX) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean removeLastOccurrence(final Object o) {
+        final int index = lastIndexOf(o);
+        if (index == NOT_FOUND_IDX) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public boolean offer(final T element) {
+        return offerLast(element);
+    }
+
+    @Override
+    public T remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public T poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public T element() {
+        return getFirst();
+    }
+
+    @Override
+    public T peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(final T element) {
+        addFirst(element);
+    }
+
+    @Override
+    public T pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new RingListIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return new RingListIterator(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(final int index) {
+        checkPositionIndex(index);
+        return new RingListIterator(index);
+    }
+
+    @Override
+    public Iterator<T> descendingIterator() {
+        final ListIterator<T> iterator = new RingListIterator(size);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasPrevious();
+            }
+
+            @Override
+            public T next() {
+                return iterator.previous();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+        };
+    }
+
+    private void ensureCapacity(final int minCapacity) {
+        if (minCapacity <= elements.length) {
+            return;
+        }
+        if (minCapacity < 0) {
+            // int overflow of size + additional elements count
+            throw new OutOfMemoryError("Required array size too large");
+        }
+        final int newCapacity = elements.length == 0
+                ? Math.max(minCapacity, DEFAULT_SIZE)
+                : Math.max(growthPolicy.newCapacity(elements.length, minCapacity), minCapacity);
+        final Object[] newElements = new Object[newCapacity];
+        final int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, newElements, 0, firstPart);
+        System.arraycopy(elements, 0, newElements, firstPart, size - firstPart);
+        elements = newElements;
+        head = 0;
+    }
+
+    private void checkPositionIndex(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private class RingListIterator implements ListIterator<T> {
+
+        int currentPosition;
+        int lastReturnedIdx = -1;
+        int expectedModCount = modCount;
+
+        RingListIterator(final int index) {
+            currentPosition = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return currentPosition < size;
+        }
+
+        @Override
+        public T next() {
+            checkForComodification();
+            if (currentPosition >= size) {
+                throw new NoSuchElementException();
+            }
+            lastReturnedIdx = currentPosition;
+            return (T) elements[physical(currentPosition++)];
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return currentPosition > 0;
+        }
+
+        @Override
+        public T previous() {
+            checkForComodification();
+            if (currentPosition <= 0) {
+                throw new NoSuchElementException();
+            }
+            lastReturnedIdx = --currentPosition;
+            return (T) elements[physical(currentPosition)];
+        }
+
+        @Override
+        public int nextIndex() {
+            return currentPosition;
+        }
+
+        @Override
+        public int previousIndex() {
+            return currentPosition - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturnedIdx < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            RingBufferList.this.remove(lastReturnedIdx);
+            currentPosition = lastReturnedIdx;
+            lastReturnedIdx = -1;
+            expectedModCount = modCount;
+        }
+
+        @Override
+        public void set(final T t) {
+            if (lastReturnedIdx < 0) {
+                throw new IllegalStateException();
+            }
+            checkForComodification();
+            RingBufferList.this.set(lastReturnedIdx, t);
+        }
+
+        @Override
+        public void add(final T t) {
+            checkForComodification();
+            RingBufferList.this.add(currentPosition++, t);
+            lastReturnedIdx = -1;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
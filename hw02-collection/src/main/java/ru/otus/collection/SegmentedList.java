@@ -0,0 +1,334 @@
+package ru.otus.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * List stored in a directory of fixed-size blocks (tiered vector).
+ * <p>
+ * Every block is a ring buffer and all blocks except the last one are full, so element i
+ * lives in block {@code i / blockSize} and get/set stay O(1). Positional insert or remove shifts
+ * elements only inside one block and then moves one element across the boundary of every following block,
+ * which costs O(blockSize + size / blockSize), i.e. O(sqrt(n)) for blockSize close to sqrt(n).
+ * <p>
+ * No contiguous array of the list size is ever allocated.
+ */
+public class SegmentedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final int DEFAULT_DIRECTORY_SIZE = 16;
+
+    private final int blockShift;
+    private final int blockMask;
+    private final GrowthPolicy growthPolicy;
+
+    private Object[][] blocks;
+    // index of the first element inside every block
+    private int[] heads;
+    private int blockCount;
+    private int size;
+
+    public SegmentedList() {
+        this(DEFAULT_BLOCK_SIZE, GrowthPolicy.defaultPolicy());
+    }
+
+    /**
+     * @param blockSize    power of two, something close to sqrt(expected size) gives the fastest inserts
+     * @param growthPolicy how block directory grows
+     */
+    public SegmentedList(final int blockSize, final GrowthPolicy growthPolicy) {
+        if (blockSize < 2 || Integer.bitCount(blockSize) != 1) {
+            throw new IllegalArgumentException("Block size must be a power of two, but was " + blockSize);
+        }
+        this.blockShift = Integer.numberOfTrailingZeros(blockSize);
+        this.blockMask = blockSize - 1;
+        this.growthPolicy = Objects.requireNonNull(growthPolicy);
+        this.blocks = new Object[DEFAULT_DIRECTORY_SIZE][];
+        this.heads = new int[DEFAULT_DIRECTORY_SIZE];
+    }
+
+    public SegmentedList(final Collection<? extends T> c) {
+        this();
+        addAll(c);
+    }
+
+    private int blockSize() {
+        return blockMask + 1;
+    }
+
+    private int blockLength(final int block) {
+        return block < blockCount - 1 ? blockSize() : size - (block << blockShift);
+    }
+
+    private int physical(final int block, final int position) {
+        return (heads[block] + position) & blockMask;
+    }
+
+    private void addBlock() {
+        if (blockCount == blocks.length) {
+            final int newLength = Math.max(growthPolicy.newCapacity(blocks.length, blockCount + 1), blockCount + 1);
+            blocks = Arrays.copyOf(blocks, newLength);
+            heads = Arrays.copyOf(heads, newLength);
+        }
+        blocks[blockCount] = new Object[blockSize()];
+        heads[blockCount] = 0;
+        blockCount++;
+    }
+
+    private void dropLastBlock() {
+        blockCount--;
+        blocks[blockCount] = null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public T get(final int index) {
+        Objects.checkIndex(index, size);
+        final int block = index >>> blockShift;
+        return (T) blocks[block][physical(block, index & blockMask)];
+    }
+
+    @Override
+    public T set(final int index, final T element) {
+        Objects.checkIndex(index, size);
+        final int block = index >>> blockShift;
+        final Object[] es = blocks[block];
+        final int i = physical(block, index & blockMask);
+        final T oldValue = (T) es[i];
+        es[i] = element;
+        return oldValue;
+    }
+
+    @Override
+    public boolean add(final T element) {
+        if (size == blockCount << blockShift) {
+            addBlock();
+        }
+        final int block = blockCount - 1;
+        blocks[block][physical(block, size & blockMask)] = element;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(final int index, final T element) {
+        checkPositionIndex(index);
+        if (index == size) {
+            add(element);
+            return;
+        }
+        if (size == blockCount << blockShift) {
+            addBlock();
+        }
+        final int target = index >>> blockShift;
+        // free one slot in target block moving last element of every block to the next one
+        for (int block = blockCount - 1; block > target; block--) {
+            pushFront(block, popBack(block - 1));
+        }
+        insertIntoBlock(target, index & blockMask, element);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public T remove(final int index) {
+        Objects.checkIndex(index, size);
+        final int target = index >>> blockShift;
+        final T oldValue = removeFromBlock(target, index & blockMask);
+        // fill the hole pulling first element of every following block
+        for (int block = target + 1; block < blockCount; block++) {
+            pushBack(block - 1, popFront(block));
+        }
+        size--;
+        if (size == (blockCount - 1) << blockShift) {
+            dropLastBlock();
+        }
+        modCount++;
+        return oldValue;
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends T> c) {
+        final Object[] added = c.toArray();
+        for (Object element : added) {
+            add((T) element);
+        }
+        return added.length != 0;
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends T> c) {
+        checkPositionIndex(index);
+        final Object[] added = c.toArray();
+        if (added.length == 0) {
+            // nothing to do
+            return false;
+        }
+        final long insertCost = (long) added.length * (blockSize() + blockCount);
+        if (insertCost <= size - index + added.length) {
+            for (int i = 0; i < added.length; i++) {
+                add(index + i, (T) added[i]);
+            }
+        } else {
+            // cheaper to cut the tail off and append everything back
+            final Object[] tail = cutTail(index);
+            for (Object element : added) {
+                add((T) element);
+            }
+            for (Object element : tail) {
+                add((T) element);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(blocks, 0, blockCount, null);
+        blockCount = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Used by {@code subList(from, to).clear()}, works in a single pass instead of removing elements one by one.
+     */
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        final Object[] tail = cutTail(fromIndex);
+        for (int i = toIndex - fromIndex; i < tail.length; i++) {
+            add((T) tail[i]);
+        }
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        for (int block = 0; block < blockCount; block++) {
+            final Object[] es = blocks[block];
+            final int head = heads[block];
+            for (int i = 0, length = blockLength(block); i < length; i++) {
+                action.accept((T) es[(head + i) & blockMask]);
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Remove elements starting from index.
+     *
+     * @return removed elements in list order
+     */
+    private Object[] cutTail(final int index) {
+        final Object[] tail = new Object[size - index];
+        for (int i = 0; i < tail.length; i++) {
+            tail[i] = get(index + i);
+        }
+        final int keptBlocks = (index + blockMask) >>> blockShift;
+        final int keptInLastBlock = index - ((keptBlocks - 1) << blockShift);
+        if (keptBlocks > 0) {
+            // scrub removed references from the last kept block
+            for (int i = keptInLastBlock; i < blockSize(); i++) {
+                blocks[keptBlocks - 1][physical(keptBlocks - 1, i)] = null;
+            }
+        }
+        Arrays.fill(blocks, keptBlocks, blockCount, null);
+        blockCount = keptBlocks;
+        size = index;
+        modCount++;
+        return tail;
+    }
+
+    private Object popBack(final int block) {
+        final Object[] es = blocks[block];
+        final int i = physical(block, blockLength(block) - 1);
+        final Object element = es[i];
+        es[i] = null;
+        return element;
+    }
+
+    private void pushFront(final int block, final Object element) {
+        final int head = (heads[block] - 1) & blockMask;
+        heads[block] = head;
+        blocks[block][head] = element;
+    }
+
+    private Object popFront(final int block) {
+        final Object[] es = blocks[block];
+        final int head = heads[block];
+        final Object element = es[head];
+        es[head] = null;
+        heads[block] = (head + 1) & blockMask;
+        return element;
+    }
+
+    private void pushBack(final int block, final Object element) {
+        // block is one element short of full here
+        blocks[block][physical(block, blockMask)] = element;
+    }
+
+    /**
+     * Insert element at position of a block which has at least one free slot, shifting shorter side of the ring.
+     * Called before size is increased, so block length of the target is one less than actual.
+     */
+    private void insertIntoBlock(final int block, final int position, final Object element) {
+        final Object[] es = blocks[block];
+        final int length = block < blockCount - 1 ? blockMask : size - (block << blockShift);
+        if (position < length - position) {
+            final int head = (heads[block] - 1) & blockMask;
+            heads[block] = head;
+            for (int i = 0; i < position; i++) {
+                es[(head + i) & blockMask] = es[(head + i + 1) & blockMask];
+            }
+        } else {
+            for (int i = length; i > position; i--) {
+                es[physical(block, i)] = es[physical(block, i - 1)];
+            }
+        }
+        es[physical(block, position)] = element;
+    }
+
+    /**
+     * Remove element at position shifting shorter side of the ring.
+     */
+    private T removeFromBlock(final int block, final int position) {
+        final Object[] es = blocks[block];
+        final int length = blockLength(block);
+        final T oldValue = (T) es[physical(block, position)];
+        if (position < length - 1 - position) {
+            for (int i = position; i > 0; i--) {
+                es[physical(block, i)] = es[physical(block, i - 1)];
+            }
+            es[heads[block]] = null;
+            heads[block] = (heads[block] + 1) & blockMask;
+        } else {
+            for (int i = position; i < length - 1; i++) {
+                es[physical(block, i)] = es[physical(block, i + 1)];
+            }
+            es[physical(block, length - 1)] = null;
+        }
+        return oldValue;
+    }
+
+    private void checkPositionIndex(final int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
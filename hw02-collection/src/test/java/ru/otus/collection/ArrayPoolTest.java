@@ -0,0 +1,80 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ArrayPoolTest {
+
+    @Test
+    void arraysAreReusedByCapacityClass() {
+        ArrayPool pool = new ArrayPool(1024, 2, 2);
+        Object[] array = pool.acquire(100);
+        assertEquals(128, array.length);
+        array[0] = "stale";
+        array[99] = "stale";
+
+        pool.release(array, 100);
+        Object[] reused = pool.acquire(65);
+        assertSame(array, reused);
+        assertThat(reused).containsOnlyNulls();
+
+        assertEquals(16, pool.acquire(0).length);
+        assertEquals(2000, pool.acquire(2000).length);
+        // not a pool class, dropped
+        pool.release(new Object[100], 0);
+        assertEquals(128, pool.acquire(100).length);
+    }
+
+    @Test
+    void localCacheOverflowsToSharedTier() {
+        ArrayPool pool = new ArrayPool(1024, 1, 4);
+        Object[] first = pool.acquire(32);
+        Object[] second = pool.acquire(32);
+        pool.release(first, 0);
+        pool.release(second, 0);
+
+        Object[] fromOtherThread = CompletableFuture.supplyAsync(() -> pool.acquire(32)).join();
+        assertSame(second, fromOtherThread);
+        assertSame(first, pool.acquire(32));
+    }
+
+    @Test
+    void pooledListReturnsScrubbedArrays() {
+        ArrayPool pool = new ArrayPool(1024, 4, 4);
+        CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>(pool);
+        IntStream.range(0, 100).forEach(list::add);
+        assertEquals(128, list.capacity());
+
+        list.clear();
+        assertEquals(0, list.capacity());
+        Object[] released = pool.acquire(128);
+        assertThat(released).containsOnlyNulls();
+        // arrays of 16, 32 and 64 were released on growth
+        assertThat(pool.acquire(64)).hasSize(64).containsOnlyNulls();
+
+        pool.release(released, 0);
+        IntStream.range(0, 100).forEach(list::add);
+        assertEquals(99, list.get(99));
+        list.release();
+        assertEquals(0, list.size());
+    }
+
+    @Test
+    void arrayReadBySnapshotIsNotReturned() {
+        ArrayPool pool = new ArrayPool(1024, 4, 4);
+        CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>(pool);
+        IntStream.range(0, 10).forEach(list::add);
+        PersistentVector<Integer> snapshot = list.snapshot();
+
+        list.clear();
+        Object[] next = pool.acquire(16);
+        next[0] = "other";
+        assertThat(snapshot).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+}
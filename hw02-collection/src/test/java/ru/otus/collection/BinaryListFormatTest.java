@@ -0,0 +1,77 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BinaryListFormatTest {
+
+    @Test
+    void recordListRoundTrip() throws IOException {
+        CustomArrayListImplementation<Long> list = new CustomArrayListImplementation<>();
+        // several chunks of records
+        IntStream.range(0, 300_000).forEach(i -> list.add((long) i * i));
+
+        for (boolean compress : new boolean[]{false, true}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            list.writeTo(Channels.newChannel(out), FixedWidthCodec.longs(), compress);
+            if (!compress) {
+                assertEquals(16 + 300_000 * 8, out.size());
+            }
+
+            CustomArrayListImplementation<Long> read = CustomArrayListImplementation.readFrom(
+                    Channels.newChannel(new ByteArrayInputStream(out.toByteArray())), FixedWidthCodec.longs());
+            assertThat(read.toArray()).isEqualTo(list.toArray());
+            assertEquals(300_000, read.capacity());
+        }
+    }
+
+    @Test
+    void primitiveListsRoundTrip() throws IOException {
+        IntList ints = new IntList();
+        IntStream.range(0, 700_000).forEach(i -> ints.add(i % 1000 - 500));
+        LongList longs = LongList.of(Long.MIN_VALUE, 0L, Long.MAX_VALUE);
+        DoubleList doubles = DoubleList.of(Double.NaN, -0.0, 1.5);
+
+        for (boolean compress : new boolean[]{false, true}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ints.writeTo(Channels.newChannel(out), compress);
+            longs.writeTo(Channels.newChannel(out), compress);
+            doubles.writeTo(Channels.newChannel(out), compress);
+            if (compress) {
+                assertThat(out.size()).isLessThan(700_000 * Integer.BYTES / 2);
+            }
+
+            ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+            assertEquals(ints, IntList.readFrom(Channels.newChannel(in)));
+            assertEquals(longs, LongList.readFrom(Channels.newChannel(in)));
+            assertEquals(doubles, DoubleList.readFrom(Channels.newChannel(in)));
+            assertEquals(0, in.available());
+        }
+    }
+
+    @Test
+    void mismatchedOrTruncatedDataIsRejected() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IntList.of(1, 2, 3).writeTo(Channels.newChannel(out), false);
+        final byte[] data = out.toByteArray();
+
+        assertThrows(IOException.class, () -> LongList.readFrom(Channels.newChannel(new ByteArrayInputStream(data))));
+        assertThrows(IOException.class, () -> CustomArrayListImplementation.readFrom(
+                Channels.newChannel(new ByteArrayInputStream(data)), FixedWidthCodec.ints()));
+        assertThrows(EOFException.class, () -> IntList.readFrom(
+                Channels.newChannel(new ByteArrayInputStream(Arrays.copyOf(data, data.length - 1)))));
+        data[0]++;
+        assertThrows(IOException.class, () -> IntList.readFrom(Channels.newChannel(new ByteArrayInputStream(data))));
+    }
+}
@@ -0,0 +1,99 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BlockedBloomFilterTest {
+
+    @Test
+    void falsePositiveRateIsCloseToTarget() {
+        BlockedBloomFilter filter = new BlockedBloomFilter(100_000, 0.01);
+        IntStream.range(0, 100_000).forEach(i -> filter.add("id" + i));
+
+        IntStream.range(0, 100_000).forEach(i -> assertTrue(filter.mightContain("id" + i)));
+        final long falsePositives = IntStream.range(100_000, 200_000).filter(i -> filter.mightContain("id" + i)).count();
+        assertThat(falsePositives).isLessThan(2_000);
+
+        BlockedBloomFilter.Stats stats = filter.stats();
+        assertEquals(100_000, stats.elements());
+        assertThat(stats.expectedFalsePositiveRate()).isBetween(0.001, 0.02);
+        // about 10.6 bits per element
+        assertThat(stats.sizeInBytes()).isBetween(100_000L, 150_000L);
+    }
+
+    @Test
+    void listLookupsStayExact() {
+        Random random = new Random(22);
+        CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>();
+        list.addAll(List.of(1, 2, 3));
+        list.enableMembershipFilter(0.05);
+        List<Integer> expected = new ArrayList<>(List.of(1, 2, 3));
+
+        for (int step = 0; step < 20_000; step++) {
+            final int value = random.nextInt(3000);
+            final int op = random.nextInt(100);
+            if (op < 30 || expected.isEmpty()) {
+                list.add(value);
+                expected.add(value);
+            } else if (op < 35) {
+                final int index = random.nextInt(expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else if (op < 45) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, value), list.set(index, value));
+            } else if (op < 55) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (op == 55) {
+                list.replaceAll(v -> v + 1);
+                expected.replaceAll(v -> v + 1);
+            } else if (op == 56) {
+                list.removeIf(v -> v % 5 == 0);
+                expected.removeIf(v -> v % 5 == 0);
+            } else if (op == 57 && expected.size() > 10) {
+                list.subList(2, 8).clear();
+                expected.subList(2, 8).clear();
+            } else if (op == 58) {
+                list.addAll(0, List.of(value, value + 1));
+                expected.addAll(0, List.of(value, value + 1));
+            } else if (op == 59 && random.nextInt(20) == 0) {
+                list.clear();
+                expected.clear();
+            } else {
+                assertEquals(expected.contains(value), list.contains(value));
+                assertEquals(expected.indexOf(value), list.indexOf(value));
+                assertEquals(expected.lastIndexOf(value), list.lastIndexOf(value));
+            }
+        }
+        assertThat(list.toArray()).isEqualTo(expected.toArray());
+    }
+
+    @Test
+    void mostMissesAreRejectedWithoutScan() {
+        CustomArrayListImplementation<String> list = new CustomArrayListImplementation<>();
+        assertThrows(IllegalStateException.class, list::membershipFilterStats);
+        list.enableMembershipFilter(0.01);
+        IntStream.range(0, 10_000).forEach(i -> list.add("id" + i));
+        IntStream.range(0, 5_000).forEach(i -> list.remove(list.size() - 1));
+
+        IntStream.range(10_000, 20_000).forEach(i -> assertFalse(list.contains("id" + i)));
+        assertTrue(list.contains("id4999"));
+        assertFalse(list.contains("id5000"));
+
+        BlockedBloomFilter.Stats stats = list.membershipFilterStats();
+        assertThat(stats.observedFalsePositiveRate()).isLessThan(0.03);
+        // rebuilt for the remaining elements after the removals
+        assertEquals(5_000, stats.elements());
+    }
+}
@@ -0,0 +1,84 @@
+package ru.otus.collection;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+@Tag("stats")
+public class CollectionStatsTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void enabledOnly() {
+        assumeTrue(CollectionStats.isEnabled(), "run with -Dru.otus.collection.stats=true");
+        CollectionStats.reset();
+    }
+
+    @Test
+    void countersTrackGrowMoveAndScan() {
+        CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>(GrowthPolicy.doubling());
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+        }
+        // 16, 32, 64, 128
+        CollectionStats.Snapshot afterAppend = CollectionStats.snapshot();
+        assertEquals(4, afterAppend.growCount());
+        assertEquals(128, afterAppend.peakCapacity());
+        assertEquals(64, afterAppend.peakWastedSlots());
+        assertEquals(0, afterAppend.elementsMoved());
+
+        list.add(0, -1);
+        list.remove(0);
+        list.subList(90, 95).clear();
+        assertEquals(100 + 100 + 5, CollectionStats.snapshot().elementsMoved());
+        assertThat(CollectionStats.snapshot().bytesMoved()).isGreaterThanOrEqualTo(205 * 4);
+
+        list.indexOf(9);
+        list.contains(1000);
+        list.lastIndexOf(99);
+        list.subList(10, 20).indexOf(15);
+        CollectionStats.Snapshot afterScan = CollectionStats.snapshot();
+        assertEquals(10 + 95 + 1 + 6, afterScan.elementsScanned());
+        assertEquals(28.0, afterScan.averageScanLength());
+    }
+
+    @Test
+    void jfrEvents() throws IOException {
+        final Path file = directory.resolve("stats.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("ru.otus.collection.Grow");
+            recording.enable("ru.otus.collection.Scan");
+            recording.start();
+
+            CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>();
+            for (int i = 0; i < 20; i++) {
+                list.add(i);
+            }
+            list.indexOf(-1);
+
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<String> names = events.stream().map(e -> e.getEventType().getName()).collect(Collectors.toList());
+        assertThat(names).containsExactly("ru.otus.collection.Grow", "ru.otus.collection.Grow", "ru.otus.collection.Scan");
+        assertEquals(24, events.get(1).getInt("newCapacity"));
+        assertEquals(20, events.get(2).getInt("elements"));
+        assertThat(names).doesNotContain("ru.otus.collection.Move");
+    }
+}
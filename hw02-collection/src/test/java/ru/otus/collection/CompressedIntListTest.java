@@ -0,0 +1,113 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedIntListTest {
+
+    @Test
+    void sortedIdsAreCompressed() {
+        Random random = new Random(20);
+        CompressedIntList list = new CompressedIntList();
+        IntList expected = new IntList();
+        int id = 1_000_000;
+        for (int i = 0; i < 1_000_000; i++) {
+            id += 1 + random.nextInt(15);
+            list.add(id);
+            expected.add(id);
+        }
+        list.trimToSize();
+
+        assertTrue(list.isSorted());
+        assertArrayEquals(expected.toArray(), list.toArray());
+        // 4 bits per gap, against 4 bytes of int[] and about 20 bytes of boxed list
+        assertThat(list.sizeInBytes()).isLessThan(1_000_000L * Integer.BYTES / 5);
+
+        for (int i = 0; i < 1000; i++) {
+            final int index = random.nextInt(expected.size());
+            assertEquals(expected.get(index), list.get(index));
+            assertEquals(index, list.indexOf(expected.get(index)));
+        }
+        assertFalse(list.contains(1_000_000));
+        assertFalse(list.contains(id + 1));
+        assertEquals(expected.size() - 1, list.indexOf(id));
+    }
+
+    @Test
+    void unsortedAndExtremeValuesRoundTrip() {
+        Random random = new Random(2);
+        CompressedIntList list = new CompressedIntList(GrowthPolicy.fixedStep(16));
+        IntList expected = new IntList();
+        for (int i = 0; i < 10_000; i++) {
+            final int value = i % 1000 == 0 ? (i % 2000 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE)
+                    : i < 5000 ? random.nextInt() : 7;
+            list.add(value);
+            expected.add(value);
+        }
+
+        assertFalse(list.isSorted());
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertArrayEquals(expected.toArray(), list.stream().toArray());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), list.get(i));
+        }
+        assertEquals(expected.indexOf(7), list.indexOf(7));
+        assertEquals(expected.indexOf(Integer.MAX_VALUE), list.indexOf(Integer.MAX_VALUE));
+        assertEquals(-1, list.indexOf(expected.get(4999) == 8 ? 9 : 8));
+    }
+
+    @Test
+    void iteratorSeesAppendsAndTailBlock() {
+        CompressedIntList list = CompressedIntList.of(5, 5, 5);
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        for (int i = 0; i < 300; i++) {
+            list.add(i);
+        }
+        long sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.nextInt();
+        }
+        assertEquals(15 + 299 * 300 / 2, sum);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(303));
+
+        IntList forEach = new IntList();
+        list.forEach(forEach::add);
+        assertArrayEquals(list.toArray(), forEach.toArray());
+
+        list.clear();
+        assertEquals("[]", list.toString());
+        list.add(1);
+        assertTrue(list.contains(1));
+    }
+
+    @Test
+    void iteratorFailsFastAfterClear() {
+        CompressedIntList list = new CompressedIntList();
+        for (int i = 0; i < 300; i++) {
+            list.add(i);
+        }
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        assertEquals(0, iterator.nextInt());
+
+        list.clear();
+        for (int i = 0; i < 300; i++) {
+            list.add(-i);
+        }
+        // the first block is cached by the iterator, but the list under it is different now
+        assertThrows(ConcurrentModificationException.class, iterator::nextInt);
+
+        iterator = list.iterator();
+        assertEquals(0, iterator.nextInt());
+        assertEquals(-1, iterator.nextInt());
+    }
+}
@@ -0,0 +1,215 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+public class ConcurrentChunkedListTest {
+
+    @Test
+    void behavesLikeListInSingleThread() {
+        ConcurrentChunkedList<Integer> list = new ConcurrentChunkedList<>();
+        IntStream.range(0, 1000).forEach(list::add);
+
+        list.add(0, -1);
+        list.add(500, -2);
+        assertEquals(1002, list.size());
+        assertEquals(-1, list.get(0));
+        assertEquals(-2, list.get(500));
+        assertEquals(999, list.get(1001));
+
+        assertEquals(-2, list.remove(500));
+        assertThat(list.remove(Integer.valueOf(-1))).isTrue();
+        assertThat(list).containsExactlyElementsOf(IntStream.range(0, 1000).boxed().collect(Collectors.toList()));
+
+        list.removeIf(i -> i % 2 == 0);
+        list.sort(Comparator.reverseOrder());
+        assertEquals(500, list.size());
+        assertEquals(999, list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(500));
+        assertThrows(NullPointerException.class, () -> list.add(null));
+
+        list.clear();
+        assertThat(list).isEmpty();
+        list.addAll(List.of(1, 2, 3));
+        assertThat(list).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void structuralChangeFromItsOwnCallbackIsRejected() {
+        ConcurrentChunkedList<Integer> list = new ConcurrentChunkedList<>(List.of(3, 1, 2));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertThrows(IllegalStateException.class, () -> list.removeIf(i -> list.add(i)));
+            assertThrows(IllegalStateException.class, () -> list.sort((a, b) -> list.remove(0) - a + b));
+            assertThrows(IllegalStateException.class, () -> list.replaceAll(i -> {
+                list.add(0, i);
+                return i;
+            }));
+        });
+        assertThat(list).containsExactly(3, 1, 2);
+        list.add(4);
+        list.removeIf(i -> list.get(0) == i);
+        assertThat(list).containsExactly(1, 2, 4);
+    }
+
+    @Test
+    void iteratorReturnsElementPromisedByHasNextAfterShrink() {
+        ConcurrentChunkedList<Integer> list = new ConcurrentChunkedList<>(List.of(0, 1, 2));
+        Iterator<Integer> iterator = list.iterator();
+        iterator.next();
+        iterator.next();
+
+        assertThat(iterator.hasNext()).isTrue();
+        list.clear();
+        assertEquals(2, iterator.next());
+        assertThat(iterator.hasNext()).isFalse();
+
+        list.addAll(List.of(5, 6, 7));
+        iterator = list.iterator();
+        assertThat(iterator.hasNext()).isTrue();
+        list.set(0, 50);
+        list.add(0, 4);
+        assertEquals(4, iterator.next());
+        iterator.remove();
+        assertThat(list).containsExactly(50, 6, 7);
+    }
+
+    @Test
+    void concurrentAppendsAreAllPublished() throws Exception {
+        final int threads = 8;
+        final int perThread = 100_000;
+        ConcurrentChunkedList<Integer> list = new ConcurrentChunkedList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int base = t * perThread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    list.add(base + i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(threads * perThread, list.size());
+        Set<Integer> unique = new HashSet<>(list);
+        assertEquals(threads * perThread, unique.size());
+    }
+
+    @Test
+    void readersSeeConsistentElementsDuringStructuralChanges() throws Exception {
+        ConcurrentChunkedList<Integer> list = new ConcurrentChunkedList<>();
+        IntStream.range(0, 10_000).forEach(list::add);
+        AtomicBoolean stop = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        Future<?> reader = executor.submit(() -> {
+            while (!stop.get()) {
+                final int size = list.size();
+                for (int i = 0; i < size; i += 97) {
+                    try {
+                        assertThat(list.get(i)).isNotNull();
+                    } catch (IndexOutOfBoundsException ex) {
+                        // list has shrunk meanwhile
+                    }
+                }
+            }
+            return null;
+        });
+        Future<?> writer = executor.submit(() -> {
+            for (int i = 0; i < 200; i++) {
+                list.add(0, -i);
+                list.add(i);
+                list.remove(list.size() / 2);
+            }
+            return null;
+        });
+        writer.get(30, TimeUnit.SECONDS);
+        stop.set(true);
+        reader.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(10_200, list.size());
+    }
+
+    @Test
+    void appendsInterleavedWithRemoveAndClearNeverPublishEmptySlots() throws Exception {
+        final int appenders = 4;
+        final int perThread = 50_000;
+        ConcurrentChunkedList<Integer> list = new ConcurrentChunkedList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(appenders + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < appenders; t++) {
+            final int base = t * perThread;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    list.add(base + i);
+                }
+                return null;
+            }));
+        }
+        Future<?> remover = executor.submit(() -> {
+            start.await();
+            // size shrinks only here, so the last element can't go away between the calls
+            for (int i = 0; !stop.get(); i++) {
+                if (i % 64 == 0) {
+                    list.clear();
+                } else if (!list.isEmpty()) {
+                    list.remove(i % list.size());
+                }
+                final int size = list.size();
+                if (size > 0) {
+                    assertThat(list.get(size - 1)).isNotNull();
+                }
+            }
+            return null;
+        });
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        stop.set(true);
+        remover.get(30, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        final int size = list.size();
+        for (int i = 0; i < size; i++) {
+            assertThat(list.get(i)).isNotNull();
+        }
+        assertEquals(size, new HashSet<>(list).size());
+        // size and reserved slots agree, so the next append goes right after the last element
+        list.add(-1);
+        assertEquals(size + 1, list.size());
+        assertEquals(-1, list.get(size));
+    }
+}
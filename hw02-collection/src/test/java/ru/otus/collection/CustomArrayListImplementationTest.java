@@ -2,14 +2,19 @@ package ru.otus.collection;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CustomArrayListImplementationTest {
 
@@ -72,4 +77,263 @@ public class CustomArrayListImplementationTest {
         assertEquals(4, collection.size());
 
     }
+
+    @Test
+    void constructorWithCapacityCreatesEmptyList() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>(100);
+
+        assertEquals(0, collection.size());
+        assertEquals(100, collection.capacity());
+        collection.add(1);
+        assertThat(collection).containsExactly(1);
+    }
+
+    @Test
+    void geometricGrowthKeepsNumberOfCopiesLogarithmic() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>(GrowthPolicy.doubling());
+        int regrowCount = 0;
+        int previousCapacity = collection.capacity();
+        for (int i = 0; i < 100_000; i++) {
+            collection.add(i);
+            if (collection.capacity() != previousCapacity) {
+                regrowCount++;
+                previousCapacity = collection.capacity();
+            }
+        }
+
+        assertEquals(100_000, collection.size());
+        assertThat(regrowCount).isLessThan(20);
+    }
+
+    @Test
+    void ensureCapacityAndTrimToSize() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>(GrowthPolicy.fixedStep(8));
+        collection.ensureCapacity(1000);
+        assertEquals(1000, collection.capacity());
+
+        IntStream.range(0, 10).forEach(collection::add);
+        collection.trimToSize();
+        assertEquals(10, collection.capacity());
+        assertThat(collection).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void growthPoliciesReturnAtLeastRequiredCapacity() {
+        assertEquals(150, GrowthPolicy.oneAndHalf().newCapacity(100, 101));
+        assertEquals(200, GrowthPolicy.doubling().newCapacity(100, 101));
+        assertEquals(500, GrowthPolicy.doubling().newCapacity(100, 500));
+        assertEquals(164, GrowthPolicy.fixedStep(64).newCapacity(100, 101));
+        assertEquals(1_001_000, GrowthPolicy.cappedChunk(2.0, 1000).newCapacity(1_000_000, 1_000_001));
+        assertEquals(GrowthPolicy.MAX_ARRAY_SIZE, GrowthPolicy.doubling().newCapacity(Integer.MAX_VALUE / 2 + 1, Integer.MAX_VALUE / 2 + 2));
+    }
+
+    @Test
+    void indexOfAndLastIndexOfFindElements() {
+        CustomArrayListImplementation<String> collection = new CustomArrayListImplementation<>();
+        Collections.addAll(collection, "a", null, "b", "a", null, "c");
+
+        assertEquals(0, collection.indexOf("a"));
+        assertEquals(3, collection.lastIndexOf("a"));
+        assertEquals(1, collection.indexOf(null));
+        assertEquals(4, collection.lastIndexOf(null));
+        assertEquals(-1, collection.lastIndexOf("d"));
+        assertThat(collection.contains("c")).isTrue();
+        assertThat(collection.remove("d")).isFalse();
+        assertEquals(6, collection.size());
+    }
+
+    @Test
+    void bulkSearch() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 100).forEach(i -> collection.add(i % 10));
+
+        assertThat(collection.indexOfAll(3).toArray()).containsExactly(3, 13, 23, 33, 43, 53, 63, 73, 83, 93);
+        assertEquals(10, collection.countOf(7));
+        assertEquals(0, collection.countOf(10));
+        assertEquals(5, collection.indexOfAny(List.of(42, 5, 6)));
+        assertEquals(2, collection.indexOfAny(IntStream.range(2, 100).boxed().collect(Collectors.toList())));
+        assertEquals(-1, collection.indexOfAny(List.of(42)));
+    }
+
+    @Test
+    void spliteratorIsSizedAndSplitsInHalves() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 1000).forEach(collection::add);
+
+        Spliterator<Integer> spliterator = collection.spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED)).isTrue();
+        Spliterator<Integer> prefix = spliterator.trySplit();
+        assertEquals(500, prefix.estimateSize());
+        assertEquals(500, spliterator.estimateSize());
+
+        assertEquals(499_500L, collection.parallelStream().mapToLong(Integer::longValue).sum());
+        assertThat(collection.parallelStream().filter(i -> i % 2 == 0).collect(Collectors.toList()))
+                .containsExactlyElementsOf(IntStream.range(0, 500).map(i -> i * 2).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void removeIfReplaceAllAndForEach() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 10).forEach(collection::add);
+
+        assertThat(collection.removeIf(i -> i % 3 == 0)).isTrue();
+        assertThat(collection.removeIf(i -> i > 100)).isFalse();
+        collection.replaceAll(i -> i * 10);
+        assertThat(collection).containsExactly(10, 20, 40, 50, 70, 80);
+
+        List<Integer> visited = new ArrayList<>();
+        collection.forEach(visited::add);
+        assertThat(visited).containsExactly(10, 20, 40, 50, 70, 80);
+    }
+
+    @Test
+    void iteratorFailsFastOnConcurrentModification() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 10).forEach(collection::add);
+
+        Iterator<Integer> iterator = collection.iterator();
+        iterator.next();
+        collection.add(10);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> collection.forEach(i -> collection.add(i)));
+    }
+
+    @Test
+    void removeIfInvalidatesIteratorsWhenFilterThrows() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 10).forEach(collection::add);
+
+        Iterator<Integer> iterator = collection.iterator();
+        iterator.next();
+        assertThrows(IllegalStateException.class, () -> collection.removeIf(i -> {
+            if (i == 4) {
+                throw new IllegalStateException();
+            }
+            return i == 1;
+        }));
+        assertThat(collection).containsExactly(0, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    void bulkRemovalKeepsOrder() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 100).forEach(i -> collection.add(i % 20));
+
+        assertThat(collection.removeAll(List.of(1, 3, 5))).isTrue();
+        assertEquals(85, collection.size());
+        assertThat(collection.removeAll(IntStream.range(10, 100).boxed().collect(Collectors.toList()))).isTrue();
+        assertThat(collection.retainAll(List.of(0, 2, 4, 6, 42))).isTrue();
+        assertThat(collection.retainAll(List.of(0, 2, 4, 6))).isFalse();
+        assertThat(collection).containsExactlyElementsOf(
+                IntStream.range(0, 5).boxed().flatMap(i -> IntStream.of(0, 2, 4, 6).boxed()).collect(Collectors.toList()));
+    }
+
+    @Test
+    void containsAllAndTypedToArray() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 100).forEach(collection::add);
+
+        assertThat(collection.containsAll(List.of(1, 50, 99))).isTrue();
+        assertThat(collection.containsAll(List.of(1, 100))).isFalse();
+        assertThat(collection.containsAll(IntStream.range(0, 100).boxed().collect(Collectors.toList()))).isTrue();
+        assertThat(collection.containsAll(IntStream.range(1, 101).boxed().collect(Collectors.toList()))).isFalse();
+
+        Integer[] exact = collection.toArray(new Integer[0]);
+        assertEquals(100, exact.length);
+        Integer[] bigger = collection.toArray(new Integer[102]);
+        assertEquals(99, bigger[99]);
+        assertThat(bigger[100]).isNull();
+    }
+
+    @Test
+    void removeIfKeepsListIntactWhenFilterThrows() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 10).forEach(collection::add);
+
+        assertThrows(IllegalStateException.class, () -> collection.removeIf(i -> {
+            if (i == 6) {
+                throw new IllegalStateException();
+            }
+            return i % 2 == 0;
+        }));
+        assertThat(collection).containsExactly(1, 3, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    void subListRemoveIfStaysInSyncWhenFilterThrows() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 20).forEach(collection::add);
+        List<Integer> window = collection.subList(5, 15);
+
+        Iterator<Integer> iterator = window.iterator();
+        iterator.next();
+        assertThrows(IllegalStateException.class, () -> window.removeIf(i -> {
+            if (i == 10) {
+                throw new IllegalStateException();
+            }
+            return i % 2 == 0;
+        }));
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThat(window).containsExactly(5, 7, 9, 10, 11, 12, 13, 14);
+        assertEquals(18, collection.size());
+
+        window.add(100);
+        assertEquals(100, collection.get(13));
+    }
+
+    @Test
+    void subListIsAViewOverTheList() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        IntStream.range(0, 20).forEach(collection::add);
+
+        List<Integer> window = collection.subList(5, 15);
+        assertEquals(10, window.size());
+        assertEquals(2, window.indexOf(7));
+        assertEquals(-1, window.indexOf(3));
+        window.set(0, 100);
+        assertEquals(100, collection.get(5));
+
+        List<Integer> nested = window.subList(2, 6);
+        nested.add(0, -1);
+        nested.remove(Integer.valueOf(9));
+        assertEquals(10, window.size());
+        assertEquals(20, collection.size());
+        assertThat(nested).containsExactly(-1, 7, 8, 10);
+
+        nested.sort(Comparator.reverseOrder());
+        assertThat(collection.subList(7, 11)).containsExactly(10, 8, 7, -1);
+
+        window.subList(0, 3).clear();
+        assertEquals(7, window.size());
+        assertThat(collection).containsExactly(0, 1, 2, 3, 4, 8, 7, -1, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+
+        window.removeIf(i -> i > 10);
+        assertThat(window).containsExactly(8, 7, -1);
+        assertEquals(13, collection.size());
+
+        collection.add(42);
+        assertThrows(ConcurrentModificationException.class, window::size);
+    }
+
+    @Test
+    void sortIsInPlaceAndParallelForLargeLists() {
+        CustomArrayListImplementation<Integer> collection = new CustomArrayListImplementation<>();
+        List<Integer> expected = IntStream.range(0, 200_000).map(i -> (i * 7919) % 200_000).boxed().collect(Collectors.toList());
+        collection.addAll(expected);
+        PersistentVector<Integer> snapshot = collection.snapshot();
+        Iterator<Integer> iterator = collection.iterator();
+
+        Collections.sort(collection);
+        Collections.sort(expected);
+        assertThat(collection).containsExactlyElementsOf(expected);
+        assertEquals(7919, snapshot.get(1));
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        collection.sort(Comparator.reverseOrder());
+        assertEquals(199_999, collection.get(0));
+        collection.subList(0, 10).sort(null);
+        assertThat(collection.subList(0, 11)).containsExactly(199_990, 199_991, 199_992, 199_993, 199_994,
+                199_995, 199_996, 199_997, 199_998, 199_999, 199_989);
+    }
 }
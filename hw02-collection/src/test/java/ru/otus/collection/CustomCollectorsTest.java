@@ -0,0 +1,58 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CustomCollectorsTest {
+
+    @Test
+    void collectorKeepsEncounterOrder() {
+        final Integer[] expected = IntStream.range(0, 500_000).filter(i -> i % 3 != 0).boxed().toArray(Integer[]::new);
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            IntStream source = IntStream.range(0, 500_000);
+            if (parallel) {
+                source = source.parallel();
+            }
+            CustomArrayListImplementation<Integer> list = source.filter(i -> i % 3 != 0).boxed()
+                    .collect(CustomCollectors.toCustomList());
+            assertThat(list.toArray()).isEqualTo(expected);
+            assertEquals(expected.length, list.capacity());
+            list.add(-1);
+            assertEquals(-1, list.get(expected.length));
+        }
+    }
+
+    @Test
+    void smallAndEmptyResults() {
+        CustomArrayListImplementation<String> empty = Stream.<String>empty().collect(CustomCollectors.toCustomList());
+        assertTrue(empty.isEmpty());
+        empty.add("a");
+        assertThat(empty).containsExactly("a");
+
+        CustomArrayListImplementation<String> small = Stream.of("a", "b", "c").parallel()
+                .collect(CustomCollectors.toCustomList());
+        assertThat(small).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void streamBuilderAdoptsStreamArray() {
+        CustomArrayListImplementation<Integer> sized = CustomCollectors.toCustomList(
+                IntStream.range(0, 100_000).parallel().boxed());
+        assertEquals(100_000, sized.size());
+        assertEquals(100_000, sized.capacity());
+        assertEquals(99_999, sized.get(99_999));
+
+        CustomArrayListImplementation<Object> unsized = CustomCollectors.toCustomList(
+                List.of("x", "y", "z").stream().filter(s -> !s.equals("y")));
+        assertThat(unsized).containsExactly("x", "z");
+        assertThat(CustomCollectors.toCustomList(Stream.empty())).isEmpty();
+    }
+}
@@ -0,0 +1,124 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CustomHashMapTest {
+
+    @Test
+    void randomOperationsMatchHashMap() {
+        Random random = new Random(23);
+        CustomHashMap<Integer, String> map = new CustomHashMap<>(0, GrowthPolicy.oneAndHalf(), 0.9f);
+        Map<Integer, String> expected = new HashMap<>();
+
+        for (int step = 0; step < 100_000; step++) {
+            final Integer key = random.nextInt(50) == 0 ? null : random.nextInt(5000);
+            final int op = random.nextInt(10);
+            if (op < 5) {
+                assertEquals(expected.put(key, "v" + step), map.put(key, "v" + step));
+            } else if (op < 8) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+        assertEquals(expected, map);
+        assertEquals(map, expected);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        Map<Integer, String> forEach = new HashMap<>();
+        map.forEach(forEach::put);
+        assertEquals(expected, forEach);
+    }
+
+    @Test
+    void iteratorRemovesWhileWalking() {
+        Random random = new Random(32);
+        // high load factor makes long clusters which wrap around the table end
+        for (int round = 0; round < 200; round++) {
+            CustomHashMap<Integer, Integer> map = new CustomHashMap<>(0, GrowthPolicy.doubling(), 0.95f);
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 60; i++) {
+                final int key = random.nextInt(1000);
+                map.put(key, i);
+                expected.put(key, i);
+            }
+
+            Set<Integer> keysBefore = new HashSet<>(expected.keySet());
+            Set<Integer> seen = new HashSet<>();
+            Iterator<Map.Entry<Integer, Integer>> iterator = map.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Integer, Integer> entry = iterator.next();
+                assertTrue(seen.add(entry.getKey()), "returned twice: " + entry.getKey());
+                assertEquals(expected.get(entry.getKey()), entry.getValue());
+                if (random.nextBoolean()) {
+                    iterator.remove();
+                    expected.remove(entry.getKey());
+                } else {
+                    final int negated = -entry.getValue();
+                    entry.setValue(negated);
+                    expected.put(entry.getKey(), negated);
+                }
+            }
+            assertEquals(keysBefore, seen);
+            assertEquals(expected, map);
+        }
+    }
+
+    @Test
+    void iteratorsAreFailFast() {
+        CustomHashMap<String, Integer> map = new CustomHashMap<>(Map.of("a", 1, "b", 2));
+        Iterator<String> keys = map.keySet().iterator();
+        keys.next();
+        map.put("c", 3);
+        assertThrows(ConcurrentModificationException.class, keys::next);
+
+        Iterator<Map.Entry<String, Integer>> entries = map.entrySet().iterator();
+        assertThrows(IllegalStateException.class, entries::remove);
+        assertTrue(map.containsValue(3));
+        assertTrue(map.entrySet().remove(Map.entry("c", 3)));
+        assertFalse(map.containsKey("c"));
+    }
+
+    @Test
+    void setMatchesHashSet() {
+        Random random = new Random(7);
+        CustomHashSet<String> set = new CustomHashSet<>(GrowthPolicy.fixedStep(100));
+        Set<String> expected = new HashSet<>();
+        for (int step = 0; step < 50_000; step++) {
+            final String value = random.nextInt(100) == 0 ? null : "s" + random.nextInt(3000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), set.remove(value));
+            } else {
+                assertEquals(expected.add(value), set.add(value));
+            }
+        }
+        assertEquals(expected, set);
+        set.removeIf(s -> s == null || s.endsWith("7"));
+        expected.removeIf(s -> s == null || s.endsWith("7"));
+        assertEquals(expected, set);
+        assertEquals(0, set.capacity() & (set.capacity() - 1));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        set.trimToSize();
+        assertEquals(16, set.capacity());
+        assertNull(new CustomHashMap<String, String>().get("x"));
+        assertThat(new CustomHashSet<>(Set.of(1, 2, 3))).containsExactlyInAnyOrder(1, 2, 3);
+    }
+}
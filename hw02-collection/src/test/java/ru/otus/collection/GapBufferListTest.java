@@ -0,0 +1,69 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GapBufferListTest {
+
+    @Test
+    void randomEditsMatchArrayList() {
+        GapBufferList<Integer> list = new GapBufferList<>(0, GrowthPolicy.doubling());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            final int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                final int index = random.nextInt(expected.size() + 1);
+                list.add(index, step);
+                expected.add(index, step);
+            } else if (operation < 8) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -step), list.set(index, -step));
+            }
+        }
+        assertThat(list).containsExactlyElementsOf(expected);
+        assertThat(list.toArray()).containsExactly(expected.toArray());
+
+        list.subList(100, 200).clear();
+        expected.subList(100, 200).clear();
+        assertThat(list).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void listIteratorEditingPass() {
+        GapBufferList<Integer> list = new GapBufferList<>(IntStream.range(0, 200_000).boxed().collect(Collectors.toList()));
+
+        ListIterator<Integer> iterator = list.listIterator();
+        while (iterator.hasNext()) {
+            final int value = iterator.next();
+            if (value % 2 == 0) {
+                iterator.remove();
+            } else {
+                iterator.add(-value);
+            }
+        }
+
+        assertEquals(200_000, list.size());
+        assertEquals(1, list.get(0));
+        assertEquals(-1, list.get(1));
+        assertEquals(-199_999, list.get(199_999));
+
+        list.trimToSize();
+        list.add(0, 42);
+        assertEquals(42, list.get(0));
+        assertEquals(200_001, list.size());
+    }
+}
@@ -0,0 +1,159 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashIndexTest {
+
+    @Test
+    void deleteKeepsCollidingEntriesReachable() {
+        // equal hash codes put all entries into one probe cluster
+        Object[] elements = IntStream.range(0, 40).mapToObj(i -> new Colliding(i % 5)).toArray();
+        HashIndex index = new HashIndex();
+        index.rebuild(elements, elements.length);
+
+        index.delete(elements[0], 0);
+        index.delete(elements[20], 20);
+        assertEquals(5, index.first(new Colliding(0)));
+        assertEquals(35, index.last(new Colliding(0)));
+        assertEquals(1, index.first(new Colliding(1)));
+        assertEquals(-1, index.first(new Colliding(7)));
+
+        index.move(elements[35], 35, 0);
+        elements[0] = elements[35];
+        assertEquals(0, index.first(new Colliding(0)));
+        assertEquals(30, index.last(new Colliding(0)));
+
+        for (int i = 1; i < 40; i += 5) {
+            index.delete(elements[i], i);
+        }
+        assertEquals(-1, index.first(new Colliding(1)));
+        assertEquals(2, index.first(new Colliding(2)));
+    }
+
+    @Test
+    void duplicatesKeepRebuildLinearAndLookupsConstant() {
+        final int size = 80_000;
+        Object[] elements = IntStream.range(0, size).mapToObj(i -> i % 4).toArray();
+        HashIndex index = new HashIndex();
+
+        index.rebuild(elements, size);
+        // every insert probes only the few distinct elements, not all equal ones before it
+        assertTrue(index.probes() <= 4L * size, "probes: " + index.probes());
+
+        final long afterRebuild = index.probes();
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 4, index.first(i % 4));
+            assertEquals(size - 4 + i % 4, index.last(i % 4));
+        }
+        assertTrue(index.probes() - afterRebuild <= 2 * 1000 * 4, "probes: " + (index.probes() - afterRebuild));
+
+        index.delete(elements[size - 1], size - 1);
+        index.delete(elements[3], 3);
+        assertEquals(7, index.first(3));
+        assertEquals(size - 5, index.last(3));
+        index.insert(3, size - 1);
+        assertEquals(size - 1, index.last(3));
+    }
+
+    @Test
+    void indexedListMatchesArrayList() {
+        Random random = new Random(18);
+        CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>();
+        list.enableHashIndex();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            final Integer value = random.nextInt(10) == 0 ? null : random.nextInt(200);
+            final int op = random.nextInt(100);
+            if (op < 40 || expected.isEmpty()) {
+                list.add(value);
+                expected.add(value);
+            } else if (op < 55) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, value), list.set(index, value));
+            } else if (op < 65) {
+                // mostly close to the end, where index is updated in place
+                final int index = Math.max(0, expected.size() - 1 - random.nextInt(40));
+                list.add(index, value);
+                expected.add(index, value);
+            } else if (op < 80) {
+                final int index = random.nextBoolean()
+                        ? Math.max(0, expected.size() - 1 - random.nextInt(40))
+                        : random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (op < 85) {
+                assertEquals(expected.remove(value), list.remove(value));
+            } else if (op == 85) {
+                list.removeIf(v -> v != null && v % 7 == 0);
+                expected.removeIf(v -> v != null && v % 7 == 0);
+            } else if (op == 86) {
+                list.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+                expected.sort(Comparator.nullsFirst(Comparator.naturalOrder()));
+            } else if (op == 87) {
+                list.addAll(List.of(1, 2, 3));
+                expected.addAll(List.of(1, 2, 3));
+            } else if (op == 88 && expected.size() > 10) {
+                list.subList(2, 5).set(1, value);
+                expected.subList(2, 5).set(1, value);
+            } else {
+                final Integer probe = random.nextInt(10) == 0 ? null : random.nextInt(220);
+                assertEquals(expected.indexOf(probe), list.indexOf(probe));
+                assertEquals(expected.lastIndexOf(probe), list.lastIndexOf(probe));
+                assertEquals(expected.contains(probe), list.contains(probe));
+            }
+        }
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertTrue(list.containsAll(expected));
+
+        list.clear();
+        assertFalse(list.contains(1));
+        list.add(1);
+        assertEquals(0, list.indexOf(1));
+    }
+
+    @Test
+    void indexCanBeTurnedOffAndOn() {
+        CustomArrayListImplementation<String> list = new CustomArrayListImplementation<>();
+        IntStream.range(0, 100).forEach(i -> list.add("v" + i));
+        list.enableHashIndex();
+        assertTrue(list.isHashIndexEnabled());
+        assertEquals(42, list.indexOf("v42"));
+
+        list.disableHashIndex();
+        list.add(0, "v42");
+        assertEquals(0, list.indexOf("v42"));
+        list.enableHashIndex();
+        assertEquals(0, list.indexOf("v42"));
+        assertEquals(43, list.lastIndexOf("v42"));
+    }
+
+    private static final class Colliding {
+
+        private final int value;
+
+        Colliding(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Colliding && ((Colliding) o).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+}
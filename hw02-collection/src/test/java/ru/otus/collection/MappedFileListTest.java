@@ -0,0 +1,104 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MappedFileListTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void randomEditsAcrossRegionsMatchArrayList() throws IOException {
+        // 10 records per region, so most edits cross region boundaries
+        try (MappedFileList<Long> list = new MappedFileList<>(directory.resolve("longs"), FixedWidthCodec.longs(), 80)) {
+            List<Long> expected = new ArrayList<>();
+            Random random = new Random(42);
+
+            for (int step = 0; step < 5000; step++) {
+                final int operation = random.nextInt(10);
+                if (operation < 4 || expected.isEmpty()) {
+                    list.add((long) step);
+                    expected.add((long) step);
+                } else if (operation < 6) {
+                    final int index = random.nextInt(expected.size() + 1);
+                    list.add(index, (long) step);
+                    expected.add(index, (long) step);
+                } else if (operation < 8) {
+                    final int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), list.remove(index));
+                } else {
+                    final int index = random.nextInt(expected.size());
+                    assertEquals(expected.set(index, (long) -step), list.set(index, (long) -step));
+                }
+            }
+            assertThat(list).containsExactlyElementsOf(expected);
+
+            list.subList(10, 125).clear();
+            expected.subList(10, 125).clear();
+            List<Long> scanned = new ArrayList<>();
+            list.forEach(scanned::add);
+            assertThat(scanned).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void reopenedListContainsForcedElements() throws IOException {
+        final Path file = directory.resolve("ints");
+        try (MappedFileList<Integer> list = new MappedFileList<>(file, FixedWidthCodec.ints(), 64)) {
+            for (int i = 0; i < 1000; i++) {
+                list.add(i);
+            }
+            list.force();
+            list.set(0, -1);
+        }
+        try (MappedFileList<Integer> list = new MappedFileList<>(file, FixedWidthCodec.ints(), 4096)) {
+            assertEquals(1000, list.size());
+            assertEquals(-1, list.get(0));
+            assertEquals(999, list.get(999));
+            list.add(1000);
+        }
+        assertThrows(IOException.class, () -> new MappedFileList<>(file, FixedWidthCodec.longs()));
+    }
+
+    @Test
+    void customRecordCodec() throws IOException {
+        final FixedWidthCodec<int[]> pairs = new FixedWidthCodec<>() {
+            @Override
+            public int width() {
+                return 2 * Integer.BYTES;
+            }
+
+            @Override
+            public void encode(final int[] value, final ByteBuffer target, final int offset) {
+                target.putInt(offset, value[0]);
+                target.putInt(offset + Integer.BYTES, value[1]);
+            }
+
+            @Override
+            public int[] decode(final ByteBuffer source, final int offset) {
+                return new int[]{source.getInt(offset), source.getInt(offset + Integer.BYTES)};
+            }
+        };
+        final MappedFileList<int[]> list = new MappedFileList<>(directory.resolve("pairs"), pairs);
+        list.add(new int[]{1, 2});
+        list.add(0, new int[]{3, 4});
+        assertThat(list.get(0)).containsExactly(3, 4);
+        assertThat(list.get(1)).containsExactly(1, 2);
+
+        list.close();
+        assertThrows(IllegalStateException.class, () -> list.add(new int[]{5, 6}));
+        assertEquals(0, list.size());
+    }
+}
@@ -0,0 +1,113 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapListTest {
+
+    @Test
+    void recordListMatchesArrayList() {
+        try (OffHeapList<Long> list = new OffHeapList<>(FixedWidthCodec.longs(), GrowthPolicy.doubling())) {
+            List<Long> expected = new ArrayList<>();
+            Random random = new Random(42);
+
+            for (int step = 0; step < 20_000; step++) {
+                final int operation = random.nextInt(10);
+                if (operation < 4 || expected.isEmpty()) {
+                    list.add((long) step);
+                    expected.add((long) step);
+                } else if (operation < 6) {
+                    final int index = random.nextInt(expected.size() + 1);
+                    list.add(index, (long) step);
+                    expected.add(index, (long) step);
+                } else if (operation < 8) {
+                    final int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), list.remove(index));
+                } else {
+                    final int index = random.nextInt(expected.size());
+                    assertEquals(expected.set(index, (long) -step), list.set(index, (long) -step));
+                }
+            }
+            assertThat(list).containsExactlyElementsOf(expected);
+
+            list.subList(0, 1000).clear();
+            expected.subList(0, 1000).clear();
+            assertThat(list).containsExactlyElementsOf(expected);
+
+            list.trimToSize();
+            assertEquals(expected.size(), list.capacity());
+            assertThat(list).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    void closedListIsEmptyAndCanNotGrow() {
+        OffHeapList<Integer> list = new OffHeapList<>(FixedWidthCodec.ints());
+        list.addAll(List.of(1, 2, 3));
+        list.close();
+
+        assertEquals(0, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IllegalStateException.class, () -> list.add(4));
+        list.close();
+    }
+
+    @Test
+    void primitiveLists() {
+        try (OffHeapIntList ints = new OffHeapIntList(0, GrowthPolicy.defaultPolicy());
+             OffHeapLongList longs = new OffHeapLongList();
+             OffHeapDoubleList doubles = new OffHeapDoubleList()) {
+            IntStream.range(0, 1000).forEach(ints::add);
+            assertEquals(499_500L, ints.sum());
+            ints.add(0, -1);
+            assertEquals(4, ints.removeAt(5));
+            assertEquals(5, ints.set(5, 500));
+            assertEquals(999, ints.get(999));
+            assertEquals(5, ints.indexOf(500));
+            assertEquals(1000, ints.size());
+
+            longs.addAll(Long.MAX_VALUE, 1L, 2L);
+            longs.add(1, 7L);
+            assertThat(longs.toArray()).containsExactly(Long.MAX_VALUE, 7L, 1L, 2L);
+
+            doubles.addAll(0.5, Double.NaN, -0.0);
+            assertEquals(1, doubles.indexOf(Double.NaN));
+            assertFalse(doubles.contains(0.0));
+            assertTrue(doubles.contains(-0.0));
+
+            ints.trimToSize();
+            assertEquals(1000, ints.capacity());
+        }
+    }
+
+    @Test
+    void storageMovesSlotsAcrossChunks() {
+        // 4 slots per chunk
+        OffHeapStorage storage = new OffHeapStorage(Integer.BYTES, 16);
+        storage.resize(10);
+        for (int i = 0; i < 10; i++) {
+            storage.chunk(i).putInt(storage.offset(i), i);
+        }
+        storage.move(1, 3, 6);
+        assertThat(IntStream.range(0, 10).map(i -> storage.chunk(i).getInt(storage.offset(i))))
+                .containsExactly(0, 1, 2, 1, 2, 3, 4, 5, 6, 9);
+        storage.move(3, 0, 7);
+        storage.resize(6);
+        storage.resize(13);
+        assertThat(IntStream.range(0, 6).map(i -> storage.chunk(i).getInt(storage.offset(i))))
+                .containsExactly(1, 2, 3, 4, 5, 6);
+        storage.release();
+        assertEquals(0, storage.capacity());
+        assertThrows(IllegalStateException.class, () -> storage.resize(1));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PersistentVectorTest {
+
+    @Test
+    void oldVersionsStayValidAfterUpdates() {
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        List<List<Integer>> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        List<Integer> current = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 40_000; step++) {
+            final int operation = random.nextInt(10);
+            if (operation < 7 || current.isEmpty()) {
+                vector = vector.plus(step);
+                current.add(step);
+            } else if (operation < 9) {
+                final int index = random.nextInt(current.size());
+                vector = vector.with(index, -step);
+                current.set(index, -step);
+            } else {
+                vector = vector.withoutLast();
+                current.remove(current.size() - 1);
+            }
+            if (step % 1000 == 0) {
+                versions.add(vector);
+                expected.add(new ArrayList<>(current));
+            }
+        }
+        assertThat(vector).containsExactlyElementsOf(current);
+        for (int i = 0; i < versions.size(); i++) {
+            assertThat(versions.get(i)).containsExactlyElementsOf(expected.get(i));
+        }
+    }
+
+    @Test
+    void withoutLastShrinksTreeBackToEmpty() {
+        PersistentVector<Integer> vector = PersistentVector.from(IntStream.range(0, 40_000).boxed().collect(Collectors.toList()));
+        for (int size = 40_000; size > 0; size--) {
+            assertEquals(size - 1, vector.get(size - 1));
+            vector = vector.withoutLast();
+        }
+        assertThat(vector).isEmpty();
+        assertThrows(IllegalStateException.class, vector::withoutLast);
+        assertThat(vector.plus(1).plus(2)).containsExactly(1, 2);
+    }
+
+    @Test
+    void transientBatchDoesNotChangeSourceVector() {
+        PersistentVector<Integer> source = PersistentVector.from(IntStream.range(0, 5000).boxed().collect(Collectors.toList()));
+        PersistentVector.Transient<Integer> batch = source.asTransient();
+        for (int i = 0; i < 5000; i += 7) {
+            batch.set(i, -i);
+        }
+        for (int i = 0; i < 3000; i++) {
+            batch.removeLast();
+        }
+        for (int i = 0; i < 100; i++) {
+            batch.add(i);
+        }
+        PersistentVector<Integer> result = batch.persistent();
+
+        assertEquals(2100, result.size());
+        assertEquals(-7, result.get(7));
+        assertEquals(8, result.get(8));
+        assertEquals(99, result.get(2099));
+        assertThat(source).containsExactlyElementsOf(IntStream.range(0, 5000).boxed().collect(Collectors.toList()));
+        assertThrows(IllegalStateException.class, () -> batch.add(1));
+    }
+
+    @Test
+    void snapshotIsNotAffectedByListUpdates() {
+        CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>();
+        IntStream.range(0, 50_000).forEach(list::add);
+
+        PersistentVector<Integer> snapshot = list.snapshot();
+        list.add(50_000);
+        list.set(10, -1);
+        list.remove(0);
+        list.add(0, -2);
+        list.removeIf(i -> i % 2 == 0);
+
+        assertThat(snapshot).containsExactlyElementsOf(IntStream.range(0, 50_000).boxed().collect(Collectors.toList()));
+        assertEquals(25_001, list.size());
+        assertEquals(-1, list.get(5));
+
+        PersistentVector<Integer> updated = snapshot.with(40_000, -3).plus(50_000).withoutLast().withoutLast();
+        assertEquals(-3, updated.get(40_000));
+        assertEquals(49_999, updated.size());
+        assertEquals(40_000, snapshot.get(40_000));
+        assertEquals(49_999, snapshot.get(49_999));
+    }
+
+    @Test
+    void snapshotOfSmallListIsAllTail() {
+        CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>();
+        assertThat(list.snapshot()).isEmpty();
+        IntStream.range(0, 10).forEach(list::add);
+        PersistentVector<Integer> snapshot = list.snapshot();
+        list.clear();
+        assertThat(snapshot).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(snapshot.plus(10).with(0, -1)).containsExactly(-1, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    }
+}
@@ -0,0 +1,82 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveHashMapsTest {
+
+    @Test
+    void intObjectMapMatchesHashMap() {
+        Random random = new Random(230);
+        IntObjectHashMap<String> map = new IntObjectHashMap<>();
+        Map<Integer, String> expected = new HashMap<>();
+        for (int step = 0; step < 100_000; step++) {
+            final int key = random.nextInt(20) == 0 ? 0 : random.nextInt(10_000) - 5000;
+            final int op = random.nextInt(10);
+            if (op < 5) {
+                assertEquals(expected.put(key, "v" + step), map.put(key, "v" + step));
+            } else if (op < 8) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        Map<Integer, String> forEach = new HashMap<>();
+        map.forEach(forEach::put);
+        assertEquals(expected, forEach);
+        assertArrayEquals(expected.keySet().stream().mapToInt(Integer::intValue).sorted().toArray(),
+                Arrays.stream(map.keys()).sorted().toArray());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(0));
+        assertEquals("d", map.getOrDefault(1, "d"));
+    }
+
+    @Test
+    void longLongMapCountsMillionsOfKeys() {
+        LongLongHashMap map = new LongLongHashMap(0, GrowthPolicy.doubling(), 0.75f);
+        for (long i = 0; i < 2_000_000; i++) {
+            map.addTo(i * 0x9E3779B97F4A7C15L, 1);
+        }
+        for (long i = 0; i < 1_000_000; i++) {
+            map.addTo(i * 0x9E3779B97F4A7C15L, 1);
+        }
+        assertEquals(2_000_000, map.size());
+        // 0 * anything is the zero key
+        assertEquals(2, map.getOrDefault(0, -1));
+        assertEquals(2, map.getOrDefault(999_999 * 0x9E3779B97F4A7C15L, -1));
+        assertEquals(1, map.getOrDefault(1_000_000 * 0x9E3779B97F4A7C15L, -1));
+        assertEquals(-1, map.getOrDefault(3, -1));
+
+        long sum = 0;
+        for (long i = 0; i < 2_000_000; i += 2) {
+            assertTrue(map.remove(i * 0x9E3779B97F4A7C15L));
+        }
+        assertFalse(map.remove(0));
+        final long[] total = {0};
+        map.forEach((key, value) -> total[0] += value);
+        for (long i = 1; i < 2_000_000; i += 2) {
+            sum += i < 1_000_000 ? 2 : 1;
+        }
+        assertEquals(sum, total[0]);
+        assertEquals(1_000_000, map.keys().length);
+
+        assertEquals(0, map.put(5, 7));
+        assertEquals(7, map.put(5, 8));
+        map.trimToSize();
+        assertEquals(8, map.getOrDefault(5, 0));
+    }
+}
@@ -0,0 +1,105 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrimitiveListsTest {
+
+    @Test
+    void intListBehavesLikeList() {
+        IntList list = new IntList();
+        IntStream.range(0, 1000).forEach(list::add);
+
+        assertEquals(1000, list.size());
+        assertEquals(499_500L, list.sum());
+        assertEquals(499_500L, list.stream().asLongStream().sum());
+        assertEquals(10, list.indexOf(10));
+        assertEquals(-1, list.indexOf(1000));
+
+        list.add(0, -1);
+        assertEquals(-1, list.get(0));
+        assertEquals(999, list.get(1000));
+        assertEquals(5, list.set(6, 5000));
+        assertEquals(4, list.removeAt(5));
+        assertTrue(list.removeValue(5000));
+        assertFalse(list.removeValue(5000));
+        assertEquals(999, list.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(999));
+    }
+
+    @Test
+    void intListAddAllAndIterator() {
+        IntList list = IntList.of(1, 2, 3);
+        list.addAll(1, IntList.of(7, 8));
+        list.addAll(list);
+
+        assertThat(list.toArray()).containsExactly(1, 7, 8, 2, 3, 1, 7, 8, 2, 3);
+        assertEquals(IntList.of(1, 7, 8, 2, 3, 1, 7, 8, 2, 3), list);
+
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.nextInt() == 7) {
+                iterator.remove();
+            }
+        }
+        assertThat(list.toArray()).containsExactly(1, 8, 2, 3, 1, 8, 2, 3);
+        assertEquals(4, list.lastIndexOf(1));
+    }
+
+    @Test
+    void longAndDoubleLists() {
+        LongList longs = LongList.of(Long.MAX_VALUE, 1L, 2L);
+        assertEquals(Long.MAX_VALUE, longs.get(0));
+        assertEquals(2, longs.indexOf(2L));
+        assertThat(longs.stream().skip(1).sum()).isEqualTo(3L);
+
+        DoubleList doubles = DoubleList.of(0.5, Double.NaN, 1.5);
+        assertEquals(1, doubles.indexOf(Double.NaN));
+        doubles.removeAt(1);
+        assertEquals(2.0, doubles.sum());
+        assertEquals(2.0, doubles.stream().sum());
+        doubles.trimToSize();
+        assertEquals(2, doubles.capacity());
+    }
+
+    @Test
+    void radixSortMatchesArraysSort() {
+        Random random = new Random(42);
+        for (int size : new int[]{10, 100_000}) {
+            IntList ints = new IntList();
+            LongList longs = new LongList();
+            DoubleList doubles = new DoubleList();
+            for (int i = 0; i < size; i++) {
+                // narrow values in half of the elements, so some digit passes are skipped
+                ints.add(i % 2 == 0 ? random.nextInt() : random.nextInt(100));
+                longs.add(i % 2 == 0 ? random.nextLong() : -random.nextInt(100));
+                doubles.add(i % 2 == 0 ? random.nextGaussian() * 1e10 : i % 7);
+            }
+            doubles.addAll(Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.MAX_VALUE, -Double.MIN_VALUE);
+
+            int[] expectedInts = ints.toArray();
+            Arrays.sort(expectedInts);
+            long[] expectedLongs = longs.toArray();
+            Arrays.sort(expectedLongs);
+            double[] expectedDoubles = doubles.toArray();
+            Arrays.sort(expectedDoubles);
+
+            ints.sort();
+            longs.sort();
+            doubles.sort();
+            assertThat(ints.toArray()).isEqualTo(expectedInts);
+            assertThat(longs.toArray()).isEqualTo(expectedLongs);
+            assertThat(doubles.toArray()).isEqualTo(expectedDoubles);
+        }
+    }
+}
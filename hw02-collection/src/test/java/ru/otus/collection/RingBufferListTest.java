@@ -0,0 +1,133 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RingBufferListTest {
+
+    @Test
+    void randomEditsMatchArrayList() {
+        RingBufferList<Integer> list = new RingBufferList<>(0, GrowthPolicy.fixedStep(5));
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(19);
+
+        for (int step = 0; step < 20_000; step++) {
+            final int operation = random.nextInt(10);
+            if (operation < 2) {
+                list.addFirst(step);
+                expected.add(0, step);
+            } else if (operation < 5 || expected.isEmpty()) {
+                final int index = random.nextInt(expected.size() + 1);
+                list.add(index, step);
+                expected.add(index, step);
+            } else if (operation < 7) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (operation < 8) {
+                assertEquals(expected.remove(0), list.pollFirst());
+            } else {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -step), list.set(index, -step));
+            }
+        }
+        assertThat(list.toArray()).containsExactly(expected.toArray());
+        assertEquals(expected, list);
+
+        list.subList(100, 200).clear();
+        expected.subList(100, 200).clear();
+        assertEquals(expected, list);
+        list.addAll(expected);
+        expected.addAll(new ArrayList<>(expected));
+        assertEquals(expected, list);
+    }
+
+    @Test
+    void dequeOperationsMatchArrayDeque() {
+        RingBufferList<Integer> ring = new RingBufferList<>(4, GrowthPolicy.doubling());
+        Deque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(91);
+
+        for (int step = 0; step < 10_000; step++) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    ring.offerFirst(step);
+                    expected.offerFirst(step);
+                    break;
+                case 1:
+                case 2:
+                    ring.offer(step);
+                    expected.offer(step);
+                    break;
+                case 3:
+                    assertEquals(expected.poll(), ring.poll());
+                    break;
+                case 4:
+                    assertEquals(expected.pollLast(), ring.pollLast());
+                    break;
+                default:
+                    assertEquals(expected.peekFirst(), ring.peekFirst());
+                    assertEquals(expected.peekLast(), ring.peekLast());
+            }
+        }
+        assertThat(ring).containsExactlyElementsOf(expected);
+        Iterator<Integer> descending = ring.descendingIterator();
+        Iterator<Integer> expectedDescending = expected.descendingIterator();
+        while (expectedDescending.hasNext()) {
+            assertEquals(expectedDescending.next(), descending.next());
+        }
+
+        ring.clear();
+        assertNull(ring.poll());
+        assertThrows(NoSuchElementException.class, ring::pop);
+        ring.push(1);
+        ring.push(2);
+        assertEquals(2, ring.element());
+        assertEquals(1, ring.getLast());
+    }
+
+    @Test
+    void queueDrainDoesNotGrowOrMove() {
+        RingBufferList<Integer> queue = new RingBufferList<>(16, GrowthPolicy.doubling());
+        for (int i = 0; i < 100_000; i++) {
+            queue.add(i);
+            if (queue.size() > 10) {
+                assertEquals(i - 10, queue.remove());
+            }
+        }
+        assertEquals(16, queue.capacity());
+        assertEquals(99_990, queue.get(0));
+        assertEquals(99_999, queue.get(9));
+    }
+
+    @Test
+    void occurrencesAndIteratorsAreFailFast() {
+        RingBufferList<String> list = new RingBufferList<>(List.of("a", "b", "a", "c"));
+        list.addFirst("c");
+        assertEquals(List.of("c", "a", "b", "a", "c"), list);
+        list.removeLastOccurrence("a");
+        list.removeFirstOccurrence("c");
+        assertEquals(List.of("a", "b", "c"), list);
+
+        Iterator<String> iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+        assertEquals(List.of("b", "c"), list);
+
+        list.addFirst("x");
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        assertThrows(ConcurrentModificationException.class, () -> list.forEach(e -> list.pollLast()));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.otus.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SegmentedListTest {
+
+    @Test
+    void randomPositionalEditsMatchArrayList() {
+        SegmentedList<Integer> list = new SegmentedList<>(4, GrowthPolicy.doubling());
+        List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (int step = 0; step < 20_000; step++) {
+            final int operation = random.nextInt(10);
+            if (operation < 4 || expected.isEmpty()) {
+                final int index = random.nextInt(expected.size() + 1);
+                list.add(index, step);
+                expected.add(index, step);
+            } else if (operation < 7) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (operation < 8) {
+                list.add(step);
+                expected.add(step);
+            } else {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, -step), list.set(index, -step));
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        assertThat(list).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void bulkRangeOperations() {
+        SegmentedList<Integer> list = new SegmentedList<>(8, GrowthPolicy.doubling());
+        List<Integer> expected = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        list.addAll(expected);
+
+        List<Integer> inserted = IntStream.range(1000, 1050).boxed().collect(Collectors.toList());
+        list.addAll(3, inserted);
+        expected.addAll(3, inserted);
+        list.addAll(140, List.of(-1, -2));
+        expected.addAll(140, List.of(-1, -2));
+        assertThat(list).containsExactlyElementsOf(expected);
+
+        list.subList(10, 90).clear();
+        expected.subList(10, 90).clear();
+        assertThat(list).containsExactlyElementsOf(expected);
+
+        List<Integer> visited = new ArrayList<>();
+        list.forEach(visited::add);
+        assertThat(visited).containsExactlyElementsOf(expected);
+
+        list.clear();
+        assertThat(list).isEmpty();
+        list.add(7);
+        assertThat(list).containsExactly(7);
+    }
+}
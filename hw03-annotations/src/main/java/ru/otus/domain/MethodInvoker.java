@@ -0,0 +1,118 @@
+package ru.otus.domain;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Consumer;
+
+/**
+ * Test class method compiled once into a {@link Consumer} by {@link LambdaMetafactory}, so every run is
+ * a plain interface call without reflective access checks and arguments array of {@link Method#invoke}.
+ * Static methods are called through a cached {@link MethodHandle}.
+ */
+public class MethodInvoker {
+
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(void.class, Object.class);
+
+    private final Method method;
+    private final Consumer<Object> invoker;
+    // why the method can't be called, reported on every run like Method.invoke does
+    private final Exception failure;
+
+    public MethodInvoker(final Method method) {
+        this.method = method;
+        Consumer<Object> compiled = null;
+        Exception error = null;
+        try {
+            compiled = compile(method);
+        } catch (Throwable e) {
+            error = new IllegalArgumentException(String.format("Method %s can't be invoked: %s", method.getName(), e.getMessage()), e);
+        }
+        this.invoker = compiled;
+        this.failure = error;
+    }
+
+    private static Consumer<Object> compile(final Method method) throws Throwable {
+        if (method.getParameterCount() != 0) {
+            throw new IllegalArgumentException("wrong number of arguments");
+        }
+        final Class<?> clazz = method.getDeclaringClass();
+        // lookup with private access to the test class, like junit5 (acess to not public methods)
+        final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+        final MethodHandle target = lookup.unreflect(method);
+
+        if (Modifier.isStatic(method.getModifiers())) {
+            final MethodHandle handle = MethodHandles.dropArguments(target, 0, Object.class).asType(INVOKER_TYPE);
+            return testObj -> {
+                try {
+                    handle.invokeExact(testObj);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new CheckedFailure(e);
+                }
+            };
+        }
+        return (Consumer<Object>) LambdaMetafactory.metafactory(lookup, "accept",
+                MethodType.methodType(Consumer.class), INVOKER_TYPE, target,
+                MethodType.methodType(void.class, clazz)).getTarget().invokeExact();
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    public String getName() {
+        return method.getName();
+    }
+
+    /**
+     * Call the method on testObj, exception thrown by the method is wrapped into {@link InvocationTargetException}.
+     */
+    public void invoke(final Object testObj) throws Exception {
+        if (failure != null) {
+            throw failure;
+        }
+        if (!method.getDeclaringClass().isInstance(testObj)) {
+            throw new IllegalArgumentException("object is not an instance of declaring class");
+        }
+        try {
+            invoker.accept(testObj);
+        } catch (CheckedFailure e) {
+            throw new InvocationTargetException(e.getCause());
+        } catch (Throwable e) {
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof MethodInvoker && method.equals(((MethodInvoker) o).method);
+    }
+
+    @Override
+    public int hashCode() {
+        return method.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return method.toString();
+    }
+
+    /**
+     * Carries checked exception of a static method through {@link Consumer#accept}.
+     */
+    private static final class CheckedFailure extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private CheckedFailure(final Throwable cause) {
+            super(cause);
+        }
+    }
+}
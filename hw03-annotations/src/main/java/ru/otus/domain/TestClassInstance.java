@@ -19,8 +19,8 @@ import java.util.List;
 public class TestClassInstance {
 
     private Class<?> clazz;
-    private List<Method> beforeMethods;
-    private List<Method> afterMethods;
+    private List<MethodInvoker> beforeMethods;
+    private List<MethodInvoker> afterMethods;
     private List<TestMethod> testMethods;
 
     public TestClassInstance(final Class<?> clazz) {
@@ -41,11 +41,11 @@ public class TestClassInstance {
     }
 
     public void addBeforeMethod(final Method method) {
-        beforeMethods.add(method);
+        beforeMethods.add(new MethodInvoker(method));
     }
 
     public void addAfterMethod(final Method method) {
-        afterMethods.add(method);
+        afterMethods.add(new MethodInvoker(method));
     }
 
     public void addTestMethod(final TestMethod testMethod) {
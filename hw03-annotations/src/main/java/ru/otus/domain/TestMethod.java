@@ -14,14 +14,18 @@ import java.util.List;
 @Setter
 public class TestMethod {
 
-    private Method method;
+    private MethodInvoker invoker;
     private Collection<TestExecutionInfo> execs;
 
     public TestMethod(final Method method) {
-        this.method = method;
+        this.invoker = new MethodInvoker(method);
         this.execs = new ArrayList<>();
     }
 
+    public Method getMethod() {
+        return invoker.getMethod();
+    }
+
     public void setTestResult(final TestExecutionInfo testExec) {
         execs.add(testExec);
     }
@@ -0,0 +1,22 @@
+package ru.otus.executor;
+
+/**
+ * How {@link TestExecutorImpl} spreads tests over worker threads.
+ */
+public enum ExecutionMode {
+
+    /**
+     * All tests one by one on the calling thread, one instance per test class.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Test classes run in parallel, tests of a class run one by one on one instance of it.
+     */
+    PER_CLASS,
+
+    /**
+     * Every test runs in parallel on a fresh instance of its class.
+     */
+    PER_METHOD
+}
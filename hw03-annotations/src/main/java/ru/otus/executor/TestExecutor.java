@@ -1,12 +1,14 @@
 package ru.otus.executor;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public abstract class TestExecutor<T> {
 
-    protected int totalTestsCount = 0;
-    protected int successfullTestsCount = 0;
-    protected int failedTestsCount = 0;
+    // updated by worker threads in parallel execution modes
+    protected final AtomicInteger totalTestsCount = new AtomicInteger();
+    protected final AtomicInteger successfullTestsCount = new AtomicInteger();
+    protected final AtomicInteger failedTestsCount = new AtomicInteger();
 
     protected abstract void execute(final T classes);
 
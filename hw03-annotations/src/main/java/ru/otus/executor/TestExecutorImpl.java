@@ -1,24 +1,55 @@
 package ru.otus.executor;
 
+import ru.otus.domain.MethodInvoker;
 import ru.otus.domain.TestClassInstance;
 import ru.otus.domain.TestExecutionInfo;
+import ru.otus.domain.TestMethod;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 public class TestExecutorImpl extends TestExecutor<Collection<String>> {
 
     protected Collection<String> errors = new LinkedList<>();
 
+    private final ExecutionMode mode;
+    private final int parallelism;
+    // errors of the test task running on the current worker, null when tests run sequentially
+    private final ThreadLocal<Collection<String>> taskErrors = new ThreadLocal<>();
+
     protected static final String DELIMETER = "==============================================================";
     protected static final String INNER_DELIMETER = "------------------------------------------------------------";
     protected static final String TEST_INFO_DELIMETER = "**********************************************************************************";
 
+    public TestExecutorImpl() {
+        this(ExecutionMode.SEQUENTIAL, 1);
+    }
+
+    /**
+     * @param mode        how tests are spread over worker threads
+     * @param parallelism number of worker threads for parallel modes
+     */
+    public TestExecutorImpl(final ExecutionMode mode, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, but was " + parallelism);
+        }
+        this.mode = Objects.requireNonNull(mode);
+        this.parallelism = parallelism;
+    }
+
     @Override
     public void execute(final Collection<String> classes) {
         List<TestClassInstance> testClassInstances = new ArrayList<>();
@@ -85,11 +116,16 @@ public class TestExecutorImpl extends TestExecutor<Collection<String>> {
         return exception.getMessage();
     }
 
+    private Collection<String> currentErrors() {
+        final Collection<String> task = taskErrors.get();
+        return task != null ? task : errors;
+    }
+
     private <T> void saveError(final T error) {
         if (error instanceof String) {
-            errors.add((String) error);
+            currentErrors().add((String) error);
         } else {
-            errors.add(getErrorFromException((Exception) error));
+            currentErrors().add(getErrorFromException((Exception) error));
         }
     }
 
@@ -97,7 +133,7 @@ public class TestExecutorImpl extends TestExecutor<Collection<String>> {
         if (error == null) {
             return;
         } else if (error instanceof String) {
-            errors.add((String) error);
+            currentErrors().add((String) error);
             System.out.println(error);
         } else {
             saveAndPrintError(getErrorFromException((Exception) error));
@@ -108,7 +144,7 @@ public class TestExecutorImpl extends TestExecutor<Collection<String>> {
         saveAndPrintError(error);
 
         if (shouldIncreaseErrorCounter) {
-            failedTestsCount++;
+            failedTestsCount.incrementAndGet();
         }
     }
 
@@ -123,44 +159,127 @@ public class TestExecutorImpl extends TestExecutor<Collection<String>> {
     }
 
     private void runTests(final Collection<TestClassInstance> testClassInstances) {
-        int testsCount = 0;
-        boolean shouldIncreaseErrorCounter;
         System.out.println("Testing is started.");
 
+        if (mode == ExecutionMode.SEQUENTIAL) {
+            testClassInstances.forEach(this::runTestClass);
+        } else {
+            runInParallel(testClassInstances);
+        }
+        System.out.println(TEST_INFO_DELIMETER);
+        System.out.println("Testing has been finished!");
+    }
+
+    /**
+     * Run all tests of the class on one instance.
+     */
+    private void runTestClass(final TestClassInstance testClassInstance) {
+        final var testMethods = testClassInstance.getTestMethods();
+        final int testsCount = testMethods.size();
+        totalTestsCount.addAndGet(testsCount);
+        try {
+            final var initiatedTestObject = initiateObject(testClassInstance);
+
+            for (var method : testMethods) {
+                runTestMethod(testClassInstance, initiatedTestObject, method);
+            }
+        } catch (Exception e) {
+            failedTestsCount.addAndGet(testsCount);
+            saveAndPrintError(e);
+        }
+    }
+
+    /**
+     * Run single test on a fresh instance of its class.
+     */
+    private void runTestMethod(final TestClassInstance testClassInstance, final TestMethod method) {
+        totalTestsCount.incrementAndGet();
+        try {
+            runTestMethod(testClassInstance, initiateObject(testClassInstance), method);
+        } catch (Exception e) {
+            failedTestsCount.incrementAndGet();
+            saveAndPrintError(e);
+        }
+    }
+
+    private void runTestMethod(final TestClassInstance testClassInstance,
+                               final Object initiatedTestObject,
+                               final TestMethod method) {
+        boolean shouldIncreaseErrorCounter = true;
+        System.out.println(TEST_INFO_DELIMETER);
+        System.out.println(" --> " + initiatedTestObject);
+
+        final var beforeResult = executeMethodsOnObject(initiatedTestObject, testClassInstance.getBeforeMethods(), shouldIncreaseErrorCounter);
+        shouldIncreaseErrorCounter = beforeResult.isSuccessfullTest();
+        method.setTestResult(beforeResult);
+
+        if (beforeResult.isSuccessfullTest()) {
+            final var testResult = executeMethodsOnObject(initiatedTestObject, List.of(method.getInvoker()), shouldIncreaseErrorCounter);
+            if (testResult.isSuccessfullTest()) {
+                successfullTestsCount.incrementAndGet();
+            } else {
+                shouldIncreaseErrorCounter = false;
+            }
+            method.setTestResult(testResult);
+        }
+        executeMethodsOnObject(initiatedTestObject, testClassInstance.getAfterMethods(), shouldIncreaseErrorCounter);
+    }
+
+    /**
+     * Run test classes or methods as separate tasks of a ForkJoinPool. Output and errors of every task are
+     * captured and reported in declaration order after all tasks are finished, so they look the same
+     * as in sequential mode and don't interleave.
+     */
+    private void runInParallel(final Collection<TestClassInstance> testClassInstances) {
+        final List<Runnable> tasks = new ArrayList<>();
         for (final var testClassInstance : testClassInstances) {
-            try {
-                final var testMethods = testClassInstance.getTestMethods();
-                testsCount = testMethods.size();
-                totalTestsCount += testsCount;
-                final var initiatedTestObject = initiateObject(testClassInstance);
-
-                for (var method : testMethods) {
-                    shouldIncreaseErrorCounter = true;
-                    System.out.println(TEST_INFO_DELIMETER);
-                    System.out.println(" --> " + initiatedTestObject);
-
-                    final var beforeResult = executeMethodsOnObject(initiatedTestObject, testClassInstance.getBeforeMethods(), shouldIncreaseErrorCounter);
-                    shouldIncreaseErrorCounter = beforeResult.isSuccessfullTest();
-                    method.setTestResult(beforeResult);
-
-                    if (beforeResult.isSuccessfullTest()) {
-                        final var testResult = executeMethodsOnObject(initiatedTestObject, List.of(method.getMethod()), shouldIncreaseErrorCounter);
-                        if (testResult.isSuccessfullTest()) {
-                            successfullTestsCount += 1;
-                        } else {
-                            shouldIncreaseErrorCounter = false;
-                        }
-                        method.setTestResult(testResult);
-                    }
-                    executeMethodsOnObject(initiatedTestObject, testClassInstance.getAfterMethods(), shouldIncreaseErrorCounter);
+            if (mode == ExecutionMode.PER_CLASS) {
+                tasks.add(() -> runTestClass(testClassInstance));
+            } else {
+                testClassInstance.getTestMethods().forEach(method -> tasks.add(() -> runTestMethod(testClassInstance, method)));
+            }
+        }
+
+        final PrintStream originalOut = System.out;
+        final TaskOutputStream taskOutput = new TaskOutputStream(originalOut);
+        System.setOut(new PrintStream(taskOutput, true));
+        final ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            final List<Future<TaskResult>> results = new ArrayList<>();
+            for (Runnable task : tasks) {
+                results.add(pool.submit(() -> runCaptured(task, taskOutput)));
+            }
+            for (Future<TaskResult> result : results) {
+                try {
+                    final TaskResult taskResult = result.get();
+                    originalOut.print(taskResult.output);
+                    errors.addAll(taskResult.errors);
+                } catch (ExecutionException e) {
+                    // results of the following tasks are still collected
+                    saveError(e);
                 }
-            } catch (Exception e) {
-                failedTestsCount += testsCount;
-                saveAndPrintError(e);
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            saveError("Testing was interrupted!");
+        } finally {
+            pool.shutdownNow();
+            System.setOut(originalOut);
         }
-        System.out.println(TEST_INFO_DELIMETER);
-        System.out.println("Testing has been finished!");
+    }
+
+    private TaskResult runCaptured(final Runnable task, final TaskOutputStream taskOutput) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Collection<String> errors = new ArrayList<>();
+        taskOutput.capture(output);
+        taskErrors.set(errors);
+        try {
+            task.run();
+        } finally {
+            taskErrors.remove();
+            taskOutput.release();
+        }
+        return new TaskResult(output.toString(), errors);
     }
 
     private void printBeautyInnerTestInfo(final String info) {
@@ -170,11 +289,10 @@ public class TestExecutorImpl extends TestExecutor<Collection<String>> {
     }
 
     private TestExecutionInfo executeMethodsOnObject(final Object testObj,
-                                                     final List<Method> methods,
+                                                     final List<MethodInvoker> methods,
                                                      final boolean shouldIncreaseErrorCounter) {
-        for (Method method : methods) {
+        for (MethodInvoker method : methods) {
             System.out.print(String.format("Running method [%s] -> ", method.getName()));
-            method.setAccessible(true); // like junit5 (acess to not public methods)
             try {
                 method.invoke(testObj);
             } catch (Exception e) {
@@ -214,7 +332,59 @@ public class TestExecutorImpl extends TestExecutor<Collection<String>> {
         });
         System.out.println();
         System.out.println(String.format("Total tests: %s. Successfull: %s. Failed: %s.",
-                totalTestsCount, successfullTestsCount, failedTestsCount));
+                totalTestsCount.get(), successfullTestsCount.get(), failedTestsCount.get()));
         System.out.println(DELIMETER);
     }
+
+    private static final class TaskResult {
+
+        private final String output;
+        private final Collection<String> errors;
+
+        private TaskResult(final String output, final Collection<String> errors) {
+            this.output = output;
+            this.errors = errors;
+        }
+    }
+
+    /**
+     * Sends bytes printed by a worker thread into the buffer of its current task, other threads print as usual.
+     */
+    private static final class TaskOutputStream extends OutputStream {
+
+        private final OutputStream original;
+        private final ThreadLocal<OutputStream> buffer = new ThreadLocal<>();
+
+        private TaskOutputStream(final OutputStream original) {
+            this.original = original;
+        }
+
+        void capture(final OutputStream output) {
+            buffer.set(output);
+        }
+
+        void release() {
+            buffer.remove();
+        }
+
+        private OutputStream target() {
+            final OutputStream output = buffer.get();
+            return output != null ? output : original;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            target().write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            target().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            target().flush();
+        }
+    }
 }
\ No newline at end of file
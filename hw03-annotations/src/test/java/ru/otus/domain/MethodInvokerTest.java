@@ -0,0 +1,103 @@
+package ru.otus.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class MethodInvokerTest {
+
+    @Test
+    void invokesPublicInstanceMethod() throws Exception {
+        final Target target = new Target();
+        invoker("publicMethod").invoke(target);
+        assertEquals(1, target.calls);
+    }
+
+    @Test
+    void invokesPrivateInstanceMethod() throws Exception {
+        final Target target = new Target();
+        final MethodInvoker invoker = invoker("privateMethod");
+        invoker.invoke(target);
+        invoker.invoke(target);
+        assertEquals(20, target.calls);
+    }
+
+    @Test
+    void invokesStaticMethod() throws Exception {
+        final int before = Target.staticCalls;
+        invoker("staticMethod").invoke(new Target());
+        assertEquals(before + 1, Target.staticCalls);
+    }
+
+    @Test
+    void exceptionOfMethodIsWrappedIntoInvocationTargetException() {
+        final InvocationTargetException checked = assertThrows(InvocationTargetException.class,
+                () -> invoker("throwingChecked").invoke(new Target()));
+        assertThat(checked.getCause()).isInstanceOf(IOException.class).hasMessage("checked");
+
+        final InvocationTargetException unchecked = assertThrows(InvocationTargetException.class,
+                () -> invoker("throwingError").invoke(new Target()));
+        assertThat(unchecked.getCause()).isInstanceOf(AssertionError.class).hasMessage("error");
+
+        final InvocationTargetException fromStatic = assertThrows(InvocationTargetException.class,
+                () -> invoker("throwingStatic").invoke(new Target()));
+        assertThat(fromStatic.getCause()).isInstanceOf(IOException.class).hasMessage("static");
+    }
+
+    @Test
+    void methodWhichCantBeInvokedFailsOnEveryCall() {
+        final MethodInvoker invoker = invoker("withParameter");
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new Target()));
+        assertThrows(IllegalArgumentException.class, () -> invoker.invoke(new Target()));
+        assertThrows(IllegalArgumentException.class, () -> invoker("publicMethod").invoke("not a target"));
+    }
+
+    private static MethodInvoker invoker(final String name) {
+        for (var method : Target.class.getDeclaredMethods()) {
+            if (method.getName().equals(name)) {
+                return new MethodInvoker(method);
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    public static class Target {
+
+        private static int staticCalls;
+        private int calls;
+
+        public void publicMethod() {
+            calls++;
+        }
+
+        private int privateMethod() {
+            calls += 10;
+            return calls;
+        }
+
+        static void staticMethod() {
+            staticCalls++;
+        }
+
+        void throwingChecked() throws IOException {
+            throw new IOException("checked");
+        }
+
+        void throwingError() {
+            throw new AssertionError("error");
+        }
+
+        private static void throwingStatic() throws IOException {
+            throw new IOException("static");
+        }
+
+        void withParameter(final int value) {
+            calls += value;
+        }
+    }
+}
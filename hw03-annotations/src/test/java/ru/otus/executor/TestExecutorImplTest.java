@@ -0,0 +1,73 @@
+package ru.otus.executor;
+
+import org.junit.jupiter.api.Test;
+import ru.otus.fixtures.SampleFixtureTest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TestExecutorImplTest {
+
+    private static final List<String> TEST_CLASSES = List.of("ru.otus.fixtures.SampleFixtureTest",
+            "ru.otus.fixtures.FailingBeforeFixtureTest");
+
+    @Test
+    void allModesCountTheSameResults() {
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            final TestExecutorImpl executor = new TestExecutorImpl(mode, 4);
+            run(executor);
+
+            assertEquals(6, executor.totalTestsCount.get(), mode.name());
+            assertEquals(2, executor.successfullTestsCount.get(), mode.name());
+            assertEquals(4, executor.failedTestsCount.get(), mode.name());
+        }
+    }
+
+    @Test
+    void parallelModesPrintTheSameOutputAsSequential() {
+        final String expected = run(new TestExecutorImpl());
+        assertThat(expected)
+                .contains("firstSuccess executed!", "raised secondFailed!", "raised fourthFailed!", "raised before!")
+                .doesNotContain("first executed!")
+                .contains("Total tests: 6. Successfull: 2. Failed: 4.");
+
+        // tests finish in a different order every time, output must not depend on it
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected, run(new TestExecutorImpl(ExecutionMode.PER_CLASS, 4)));
+            assertEquals(expected, run(new TestExecutorImpl(ExecutionMode.PER_METHOD, 4)));
+        }
+    }
+
+    @Test
+    void perMethodModeCreatesInstancePerTest() {
+        final int before = SampleFixtureTest.INSTANCES.get();
+        run(new TestExecutorImpl(ExecutionMode.PER_CLASS, 4));
+        assertEquals(before + 1, SampleFixtureTest.INSTANCES.get());
+
+        run(new TestExecutorImpl(ExecutionMode.PER_METHOD, 4));
+        assertEquals(before + 1 + 4, SampleFixtureTest.INSTANCES.get());
+    }
+
+    @Test
+    void illegalParallelismIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TestExecutorImpl(ExecutionMode.PER_CLASS, 0));
+        assertThrows(NullPointerException.class, () -> new TestExecutorImpl(null, 1));
+    }
+
+    private static String run(final TestExecutorImpl executor) {
+        final PrintStream originalOut = System.out;
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true));
+        try {
+            executor.execute(TEST_CLASSES);
+        } finally {
+            System.setOut(originalOut);
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package ru.otus.fixtures;
+
+import ru.otus.annotations.After;
+import ru.otus.annotations.Before;
+import ru.otus.annotations.Test;
+import ru.otus.exceptions.BeforeEachException;
+
+/**
+ * Every test fails in before, tests themselves never run.
+ */
+public class FailingBeforeFixtureTest {
+
+    @Before
+    void before() throws BeforeEachException {
+        throw new BeforeEachException("raised before!");
+    }
+
+    @Test
+    void first() {
+        System.out.println("first executed!");
+    }
+
+    @Test
+    void second() {
+        System.out.println("second executed!");
+    }
+
+    @After
+    void after() {
+        System.out.println("after executed!");
+    }
+
+    @Override
+    public String toString() {
+        return "FailingBeforeFixtureTest";
+    }
+}
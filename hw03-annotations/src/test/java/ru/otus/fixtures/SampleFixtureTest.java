@@ -0,0 +1,59 @@
+package ru.otus.fixtures;
+
+import ru.otus.annotations.After;
+import ru.otus.annotations.Before;
+import ru.otus.annotations.Test;
+import ru.otus.exceptions.TestException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Two successful and two failed tests. Earlier tests sleep longer, so in parallel modes they finish last.
+ */
+public class SampleFixtureTest {
+
+    public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    public SampleFixtureTest() {
+        INSTANCES.incrementAndGet();
+    }
+
+    @Before
+    public void before() {
+        System.out.println("before executed!");
+    }
+
+    @Test
+    public void firstSuccess() throws InterruptedException {
+        Thread.sleep(40);
+        System.out.println("firstSuccess executed!");
+    }
+
+    @Test
+    void secondFailed() throws Exception {
+        Thread.sleep(30);
+        throw new TestException("raised secondFailed!");
+    }
+
+    @Test
+    private void thirdSuccess() throws InterruptedException {
+        Thread.sleep(20);
+        System.out.println("thirdSuccess executed!");
+    }
+
+    @Test
+    public static void fourthFailed() {
+        throw new IllegalStateException("raised fourthFailed!");
+    }
+
+    @After
+    void after() {
+        System.out.println("after executed!");
+    }
+
+    @Override
+    public String toString() {
+        // the same for all instances, so outputs of different runs can be compared
+        return "SampleFixtureTest";
+    }
+}
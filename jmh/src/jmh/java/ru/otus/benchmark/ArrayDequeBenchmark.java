@@ -0,0 +1,91 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ArrayDeque} baseline for the operations of {@link ListOperationsBenchmark} a deque supports.
+ * Benchmark method names are the same, so results can be compared side by side.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayDequeBenchmark {
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    private List<Integer> source;
+    private ArrayDeque<Integer> deque;
+    private Integer middleElement;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            source.add(i);
+        }
+        deque = new ArrayDeque<>(source);
+        middleElement = source.get(size / 2);
+    }
+
+    @Benchmark
+    public ArrayDeque<Integer> append() {
+        final ArrayDeque<Integer> result = new ArrayDeque<>();
+        for (int i = 0; i < size; i++) {
+            result.addLast(source.get(i));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Integer insertHead() {
+        deque.addFirst(middleElement);
+        return deque.removeFirst();
+    }
+
+    @Benchmark
+    public Integer insertTail() {
+        deque.addLast(middleElement);
+        return deque.removeLast();
+    }
+
+    @Benchmark
+    public boolean indexOf() {
+        // deque has no indexes, contains() does the same linear scan
+        return deque.contains(middleElement);
+    }
+
+    @Benchmark
+    public void iteration(final Blackhole blackhole) {
+        for (Integer element : deque) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public ArrayDeque<Integer> addAll() {
+        final ArrayDeque<Integer> result = new ArrayDeque<>();
+        result.addAll(source);
+        return result;
+    }
+}
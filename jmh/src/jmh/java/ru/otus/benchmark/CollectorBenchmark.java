@@ -0,0 +1,53 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.collection.CustomArrayListImplementation;
+import ru.otus.collection.CustomCollectors;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Building a list from a parallel stream: through toList and addAll, with the chunked collector
+ * and with the sized stream builder.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectorBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    @Benchmark
+    public CustomArrayListImplementation<Integer> toListAndAddAll() {
+        final List<Integer> collected = IntStream.range(0, size).parallel().boxed().collect(Collectors.toList());
+        final CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>();
+        list.addAll(collected);
+        return list;
+    }
+
+    @Benchmark
+    public CustomArrayListImplementation<Integer> chunkedCollector() {
+        return IntStream.range(0, size).parallel().boxed().collect(CustomCollectors.toCustomList());
+    }
+
+    @Benchmark
+    public CustomArrayListImplementation<Integer> sizedBuilder() {
+        return CustomCollectors.toCustomList(IntStream.range(0, size).parallel().boxed());
+    }
+}
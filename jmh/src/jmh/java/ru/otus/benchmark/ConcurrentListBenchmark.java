@@ -0,0 +1,77 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.collection.ConcurrentChunkedList;
+import ru.otus.collection.CustomArrayListImplementation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Shared list accessed from all available cores. Run with {@code -t 1,2,4,8,16} to see how it scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class ConcurrentListBenchmark {
+
+    private static final int INITIAL_SIZE = 100_000;
+
+    public enum Implementation {
+        CONCURRENT_CHUNKED(ConcurrentChunkedList::new),
+        SYNCHRONIZED_CUSTOM(() -> Collections.synchronizedList(new CustomArrayListImplementation<>()));
+
+        private final Supplier<List<Integer>> factory;
+
+        Implementation(final Supplier<List<Integer>> factory) {
+            this.factory = factory;
+        }
+
+        List<Integer> create() {
+            return factory.get();
+        }
+    }
+
+    @Param
+    private Implementation implementation;
+
+    private List<Integer> list;
+
+    // appends grow the list, so it starts from the same size every iteration
+    @Setup(Level.Iteration)
+    public void setUp() {
+        list = implementation.create();
+        for (int i = 0; i < INITIAL_SIZE; i++) {
+            list.add(i);
+        }
+    }
+
+    @Benchmark
+    public Integer get() {
+        return list.get(ThreadLocalRandom.current().nextInt(INITIAL_SIZE));
+    }
+
+    @Benchmark
+    public boolean append() {
+        return list.add(42);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.collection.CustomHashMap;
+import ru.otus.collection.LongLongHashMap;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random get hits on large maps, java.util.HashMap against open addressing maps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashMapBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    private Long[] keys;
+    private Map<Long, Long> hashMap;
+    private CustomHashMap<Long, Long> customHashMap;
+    private LongLongHashMap longLongHashMap;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random random = new Random(42);
+        keys = new Long[size];
+        hashMap = new HashMap<>();
+        customHashMap = new CustomHashMap<>();
+        longLongHashMap = new LongLongHashMap();
+        for (int i = 0; i < size; i++) {
+            final long key = random.nextLong();
+            keys[i] = key;
+            hashMap.put(key, key);
+            customHashMap.put(key, key);
+            longLongHashMap.put(key, key);
+        }
+    }
+
+    @Benchmark
+    public Long hashMapGet() {
+        return hashMap.get(nextKey());
+    }
+
+    @Benchmark
+    public Long customHashMapGet() {
+        return customHashMap.get(nextKey());
+    }
+
+    @Benchmark
+    public long longLongHashMapGet() {
+        return longLongHashMap.getOrDefault(nextKey(), 0);
+    }
+
+    private Long nextKey() {
+        next = next + 7919 >= size ? (next + 7919) % size : next + 7919;
+        return keys[next];
+    }
+}
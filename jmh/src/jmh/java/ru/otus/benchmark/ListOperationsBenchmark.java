@@ -0,0 +1,156 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.otus.collection.CustomArrayListImplementation;
+import ru.otus.collection.SegmentedList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Compares {@link CustomArrayListImplementation} with JDK lists on the same operations and sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListOperationsBenchmark {
+
+    private static final int RANDOM_INDEXES_COUNT = 1024;
+
+    public enum Implementation {
+        CUSTOM(CustomArrayListImplementation::new),
+        ARRAY_LIST(ArrayList::new),
+        LINKED_LIST(LinkedList::new),
+        SEGMENTED(SegmentedList::new);
+
+        private final Supplier<List<Integer>> factory;
+
+        Implementation(final Supplier<List<Integer>> factory) {
+            this.factory = factory;
+        }
+
+        List<Integer> create() {
+            return factory.get();
+        }
+    }
+
+    @Param
+    private Implementation implementation;
+
+    @Param({"1000", "100000", "10000000"})
+    private int size;
+
+    private List<Integer> source;
+    private List<Integer> shuffledSource;
+    private List<Integer> list;
+    private int[] randomIndexes;
+    private int randomIndexPosition;
+    private Integer middleElement;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            source.add(i);
+        }
+        shuffledSource = new ArrayList<>(source);
+        Collections.shuffle(shuffledSource, new Random(42));
+
+        list = implementation.create();
+        list.addAll(source);
+        middleElement = source.get(size / 2);
+
+        final Random random = new Random(42);
+        randomIndexes = new int[RANDOM_INDEXES_COUNT];
+        for (int i = 0; i < RANDOM_INDEXES_COUNT; i++) {
+            randomIndexes[i] = random.nextInt(size);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> append() {
+        final List<Integer> result = implementation.create();
+        for (int i = 0; i < size; i++) {
+            result.add(source.get(i));
+        }
+        return result;
+    }
+
+    // insert benchmarks remove inserted element back, so the list size stays stable between invocations
+
+    @Benchmark
+    public Integer insertHead() {
+        list.add(0, middleElement);
+        return list.remove(0);
+    }
+
+    @Benchmark
+    public Integer insertMiddle() {
+        final int index = list.size() / 2;
+        list.add(index, middleElement);
+        return list.remove(index);
+    }
+
+    @Benchmark
+    public Integer insertTail() {
+        list.add(middleElement);
+        return list.remove(list.size() - 1);
+    }
+
+    @Benchmark
+    public Integer getByIndex() {
+        final int position = randomIndexPosition;
+        randomIndexPosition = (position + 1) & (RANDOM_INDEXES_COUNT - 1);
+        return list.get(randomIndexes[position]);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return list.indexOf(middleElement);
+    }
+
+    @Benchmark
+    public void iteration(final Blackhole blackhole) {
+        for (Integer element : list) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public List<Integer> addAll() {
+        final List<Integer> result = implementation.create();
+        result.addAll(source);
+        return result;
+    }
+
+    /**
+     * Includes addAll of shuffled data, compare with {@link #addAll()} to get the cost of sorting itself.
+     */
+    @Benchmark
+    public List<Integer> sort() {
+        final List<Integer> result = implementation.create();
+        result.addAll(shuffledSource);
+        Collections.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.collection.CustomArrayListImplementation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedupe-like lookups of absent elements, with and without membership filter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MembershipFilterBenchmark {
+
+    @Param({"100", "10000"})
+    private int size;
+
+    private CustomArrayListImplementation<Integer> plain;
+    private CustomArrayListImplementation<Integer> filtered;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        plain = new CustomArrayListImplementation<>();
+        filtered = new CustomArrayListImplementation<>();
+        for (int i = 0; i < size; i++) {
+            plain.add(i);
+            filtered.add(i);
+        }
+        filtered.enableMembershipFilter(0.01);
+    }
+
+    @Benchmark
+    public boolean missWithoutFilter() {
+        return plain.contains(nextAbsent());
+    }
+
+    @Benchmark
+    public boolean missWithFilter() {
+        return filtered.contains(nextAbsent());
+    }
+
+    private Integer nextAbsent() {
+        next = next == 1_000_000 ? 0 : next + 1;
+        return size + next;
+    }
+}
@@ -0,0 +1,96 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.domain.MethodInvoker;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per call cost of a test method: reflective {@link Method#invoke} against cached {@link MethodInvoker}.
+ * A runner calls many different methods from one place, so the all* variants loop over several of them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodInvokerBenchmark {
+
+    private static final String[] METHODS = {"test", "before", "after", "another"};
+
+    private final Target target = new Target();
+    private Method method;
+    private MethodInvoker invoker;
+    private final Method[] methods = new Method[METHODS.length];
+    private final MethodInvoker[] invokers = new MethodInvoker[METHODS.length];
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        for (int i = 0; i < METHODS.length; i++) {
+            methods[i] = Target.class.getDeclaredMethod(METHODS[i]);
+            methods[i].setAccessible(true);
+            invokers[i] = new MethodInvoker(methods[i]);
+        }
+        method = methods[0];
+        invoker = invokers[0];
+    }
+
+    @Benchmark
+    public void reflection() throws Exception {
+        method.invoke(target);
+    }
+
+    @Benchmark
+    public void invoker() throws Exception {
+        invoker.invoke(target);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void allReflection() throws Exception {
+        for (Method m : methods) {
+            m.invoke(target);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public void allInvokers() throws Exception {
+        for (MethodInvoker i : invokers) {
+            i.invoke(target);
+        }
+    }
+
+    public static class Target {
+
+        private int calls;
+
+        private void test() {
+            calls++;
+        }
+
+        private void before() {
+            calls += 2;
+        }
+
+        private void after() {
+            calls += 3;
+        }
+
+        private void another() {
+            calls--;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.collection.ArrayPool;
+import ru.otus.collection.CustomArrayListImplementation;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived lists like in request handlers, with and without backing array pool.
+ * Run with {@code -prof gc} to compare allocation rate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PooledListBenchmark {
+
+    @Param({"10", "100", "10000"})
+    private int size;
+
+    @Benchmark
+    public int plain() {
+        final CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>();
+        return fill(list);
+    }
+
+    @Benchmark
+    public int pooled() {
+        final CustomArrayListImplementation<Integer> list = new CustomArrayListImplementation<>(ArrayPool.defaultPool());
+        final int result = fill(list);
+        list.release();
+        return result;
+    }
+
+    private int fill(final CustomArrayListImplementation<Integer> list) {
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list.size();
+    }
+}
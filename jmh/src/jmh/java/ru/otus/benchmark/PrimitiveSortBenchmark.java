@@ -0,0 +1,66 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.collection.IntList;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Radix sort of {@link IntList} against dual-pivot quicksort of {@link Arrays#sort(int[])} on random data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveSortBenchmark {
+
+    @Param({"10000", "1000000", "50000000"})
+    private int size;
+
+    private int[] source;
+    private int[] array;
+    private IntList list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final Random random = new Random(42);
+        source = new int[size];
+        for (int i = 0; i < size; i++) {
+            source[i] = random.nextInt();
+        }
+    }
+
+    // every invocation sorts the same shuffled data
+    @Setup(Level.Invocation)
+    public void reset() {
+        array = source.clone();
+        list = IntList.of(source);
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        Arrays.sort(array);
+        return array;
+    }
+
+    @Benchmark
+    public IntList radixSort() {
+        list.sort();
+        return list;
+    }
+}
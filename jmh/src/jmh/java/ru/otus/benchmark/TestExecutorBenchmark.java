@@ -0,0 +1,66 @@
+package ru.otus.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.otus.executor.ExecutionMode;
+import ru.otus.executor.TestExecutorImpl;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link TestExecutorImpl#execute} (class loading, methods discovery and invocation) per single test.
+ * Parallel modes use all available cores, on such a small suite they mostly show the pool and capture overhead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestExecutorBenchmark {
+
+    private static final List<String> TEST_CLASSES = List.of("ru.otus.tests.TestedClassOneTest", "ru.otus.tests.TestedClassTwoTest");
+    // 4 tests in TestedClassOneTest and 1 in TestedClassTwoTest
+    private static final int TESTS_COUNT = 5;
+
+    @Param({"SEQUENTIAL", "PER_CLASS", "PER_METHOD"})
+    private ExecutionMode mode;
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void muteOutput() {
+        // executor reports everything to System.out, console would dominate measurements
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void restoreOutput() {
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TESTS_COUNT)
+    public TestExecutorImpl execute() {
+        // executor accumulates counters, so every run needs a fresh one
+        final TestExecutorImpl executor = new TestExecutorImpl(mode, Runtime.getRuntime().availableProcessors());
+        executor.execute(TEST_CLASSES);
+        return executor;
+    }
+}